@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of matching of project dependencies against managed ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverrideMatcherBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int managed;
+
+    @Param({ "50" })
+    public int declared;
+
+    private List<RuleDependency> depManDeps;
+
+    private List<RuleDependency> projDeps;
+
+    private List<RuleDependency> unknownDeps;
+
+    private OverrideMatcher matcher;
+
+    private ArtifactKeyFilter filter;
+
+    @Setup
+    public void setUp() {
+        this.depManDeps = new ArrayList<>(this.managed);
+        for (int i = 0; i < this.managed; ++i) {
+            this.depManDeps.add(new RuleDependency("com.example", "artifact-" + i, null, "jar", "1.0.0", null));
+        }
+
+        // Half of declared dependencies overwrite managed version.
+        this.projDeps = new ArrayList<>(this.declared);
+        for (int i = 0; i < this.declared; ++i) {
+            final String version = i % 2 == 0 ? "1.0.0" : "2.0.0";
+            this.projDeps.add(new RuleDependency("com.example", "artifact-" + (i * 7) % this.managed, null, "jar",
+                    version, null));
+        }
+
+        // Module that declares none of managed dependencies.
+        this.unknownDeps = new ArrayList<>(this.declared);
+        for (int i = 0; i < this.declared; ++i) {
+            this.unknownDeps.add(new RuleDependency("org.example", "artifact-" + i, null, "jar", "1.0.0", null));
+        }
+
+        this.matcher = new OverrideMatcher(this.depManDeps);
+        this.matcher.find(this.projDeps, 0); // Build index.
+        this.filter = ArtifactKeyFilter.of(this.depManDeps);
+    }
+
+    @Benchmark
+    public DependencyIndex index() {
+        return new DependencyIndex(this.depManDeps);
+    }
+
+    @Benchmark
+    public ArtifactKeyFilter filter() {
+        return ArtifactKeyFilter.of(this.depManDeps);
+    }
+
+    @Benchmark
+    public List<Violation> matchUnknownWithoutFilter() {
+        return new OverrideMatcher(this.depManDeps).find(this.unknownDeps, 0);
+    }
+
+    @Benchmark
+    public List<Violation> matchUnknownWithSharedFilter() {
+        return new OverrideMatcher(this.depManDeps, VersionComparator.STRING, this.filter).find(this.unknownDeps, 0);
+    }
+
+    @Benchmark
+    public List<Violation> match() {
+        return this.matcher.find(this.projDeps, 0);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of construction and hashing of {@link RuleDependency}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleDependencyBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    /**
+     * Number of different artifacts: nodes of real graphs repeat the same
+     * artifacts many times.
+     */
+    @Param({ "100" })
+    public int distinct;
+
+    private List<Dependency> graphDependencies;
+
+    private List<RuleDependency> dependencies;
+
+    @Setup
+    public void setUp() {
+        this.graphDependencies = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; ++i) {
+            final int id = i % this.distinct;
+            this.graphDependencies.add(new Dependency(
+                    new DefaultArtifact("com.example.group" + id, "artifact-" + id, "jar", "1.0." + id),
+                    i % 2 == 0 ? "compile" : "runtime"));
+        }
+
+        this.dependencies = new ArrayList<>(this.size);
+        for (Dependency d : this.graphDependencies) {
+            this.dependencies.add(new RuleDependency(d));
+        }
+    }
+
+    @Benchmark
+    public List<RuleDependency> construct() {
+        final List<RuleDependency> result = new ArrayList<>(this.size);
+        for (Dependency d : this.graphDependencies) {
+            result.add(new RuleDependency(d));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RuleDependency> constructInterned() {
+        final RuleDependencyPool pool = new RuleDependencyPool();
+        final List<RuleDependency> result = new ArrayList<>(this.size);
+        for (Dependency d : this.graphDependencies) {
+            result.add(pool.intern(new RuleDependency(d)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Set<RuleDependency> hash() {
+        return new HashSet<>(this.dependencies);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter of <code>groupId:artifactId</code> keys of dependencies.
+ * <p>
+ * It answers "definitely not present" without false negatives, so most of
+ * project dependencies can be rejected before any detailed comparison.
+ * Filter is immutable after creation and can be shared between threads.
+ */
+public final class ArtifactKeyFilter {
+
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] bits;
+
+    private final int numBits;
+
+    private final int numHashes;
+
+    private ArtifactKeyFilter(final long[] bits, final int numBits, final int numHashes) {
+        this.bits = bits;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * @param expectedKeys      number of keys that will be added.
+     * @param falsePositiveRate desired probability of false positive answer.
+     */
+    private static ArtifactKeyFilter create(final int expectedKeys, final double falsePositiveRate) {
+        final int n = Math.max(1, expectedKeys);
+        final long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        final int numBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        final int numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        return new ArtifactKeyFilter(new long[(numBits + 63) >>> 6], numBits, numHashes);
+    }
+
+    /**
+     * @return filter of <code>groupId:artifactId</code> keys of provided
+     *         dependencies with 1% of false positive answers.
+     */
+    public static ArtifactKeyFilter of(final Collection<RuleDependency> dependencies) {
+        final ArtifactKeyFilter filter = create(dependencies.size(), DEFAULT_FALSE_POSITIVE_RATE);
+        for (RuleDependency d : dependencies) {
+            filter.add(d.getArtifactKey());
+        }
+        return filter;
+    }
+
+    /*
+     * 64-bit FNV-1a hash is split into two 32-bit hashes that are combined by
+     * double hashing (Kirsch and Mitzenmacher).
+     */
+    private static long hash(final String key) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < key.length(); ++i) {
+            h ^= key.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private void add(final String key) {
+        final long h = hash(key);
+        final int h1 = (int) h;
+        final int h2 = (int) (h >>> 32);
+        for (int i = 0; i < this.numHashes; ++i) {
+            final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.numBits;
+            this.bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return <code>false</code> if key was definitely not added,
+     *         <code>true</code> if it probably was.
+     */
+    public boolean mightContain(final String key) {
+        final long h = hash(key);
+        final int h1 = (int) h;
+        final int h2 = (int) (h >>> 32);
+        for (int i = 0; i < this.numHashes; ++i) {
+            final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.numBits;
+            if ((this.bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>false</code> if dependency with the same
+     *         <code>groupId</code> and <code>artifactId</code> was definitely
+     *         not added.
+     */
+    public boolean mightContain(final RuleDependency dependency) {
+        return mightContain(dependency.getArtifactKey());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Filters of managed dependencies that are shared by all modules of one
+ * build, so filter of the same closure is built only once.
+ */
+public class ArtifactKeyFilterCache {
+
+    private static final Object KEY = ArtifactKeyFilterCache.class;
+
+    private final ConcurrentMap<String, ArtifactKeyFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * @return cache that is bound to provided repository session.
+     */
+    public static ArtifactKeyFilterCache of(final RepositorySystemSession session) {
+        return SessionDataSupport.computeIfAbsent(session, KEY, ArtifactKeyFilterCache::new);
+    }
+
+    /**
+     * @param key     key of the closure.
+     * @param builder will be called if there is no filter for that key yet.
+     */
+    public ArtifactKeyFilter get(final String key, final Supplier<ArtifactKeyFilter> builder) {
+        return this.filters.computeIfAbsent(key, k -> builder.get());
+    }
+
+    /**
+     * @return number of cached filters.
+     */
+    public int size() {
+        return this.filters.size();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencyManagement;
+import org.eclipse.aether.collection.DependencyManager;
+import org.eclipse.aether.graph.Dependency;
+
+/**
+ * Dependency manager of batched collection, where all managed dependencies are
+ * direct dependencies of one request.
+ * <p>
+ * Level of the request root is skipped, so management of every managed
+ * dependency starts at the same depth as when it is the root of its own
+ * request.
+ */
+final class BatchDependencyManager implements DependencyManager {
+
+    private final DependencyManager delegate;
+
+    /**
+     * @param delegate manager of the repository session.
+     */
+    BatchDependencyManager(final DependencyManager delegate) {
+        this.delegate = Check.notNull(delegate, "Dependency manager should not be null");
+    }
+
+    @Override
+    public DependencyManagement manageDependency(final Dependency dependency) {
+        return null; // Managed dependencies are roots, they are never managed.
+    }
+
+    @Override
+    public DependencyManager deriveChildManager(final DependencyCollectionContext context) {
+        return this.delegate;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + this.delegate.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return this.delegate.equals(((BatchDependencyManager) obj).delegate);
+    }
+}
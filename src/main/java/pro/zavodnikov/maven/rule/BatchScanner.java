@@ -0,0 +1,431 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.maven.enforcer.rule.api.EnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingResult;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Check many POM files in one JVM without Maven.
+ * <p>
+ * All projects share one repository session, so caches of the rule are shared
+ * between them. Parents are resolved by relative path only and dependencies
+ * are collected from local repository, so {@link CollectionMode#PROJECT}
+ * mode is not supported.
+ */
+public class BatchScanner {
+
+    /**
+     * Result of the check of one POM file.
+     */
+    public static final class Result {
+
+        private final File pom;
+
+        private final String failure;
+
+        private final String error;
+
+        private Result(final File pom, final String failure, final String error) {
+            this.pom = pom;
+            this.failure = failure;
+            this.error = error;
+        }
+
+        public File getPom() {
+            return this.pom;
+        }
+
+        /**
+         * @return message of the rule or <code>null</code> if the project is
+         *         correct.
+         */
+        public String getFailure() {
+            return this.failure;
+        }
+
+        /**
+         * @return description of the problem that did not allow to check the
+         *         project or <code>null</code> if it was checked.
+         */
+        public String getError() {
+            return this.error;
+        }
+
+        public boolean isSuccess() {
+            return this.failure == null && this.error == null;
+        }
+    }
+
+    /**
+     * Logger that prints warnings and errors of the rule with name of checked
+     * POM file.
+     */
+    private static final class PrefixLogger implements EnforcerLogger {
+
+        private final String prefix;
+
+        private final PrintStream out;
+
+        private final boolean debug;
+
+        private PrefixLogger(final File pom, final PrintStream out, final boolean debug) {
+            this.prefix = "[" + pom.getPath() + "] ";
+            this.out = out;
+            this.debug = debug;
+        }
+
+        private void print(final String level, final CharSequence message) {
+            synchronized (this.out) {
+                this.out.println(level + this.prefix + message);
+            }
+        }
+
+        @Override
+        public void warnOrError(final CharSequence message) {
+            print("[WARNING] ", message);
+        }
+
+        @Override
+        public void warnOrError(final Supplier<CharSequence> messageSupplier) {
+            warnOrError(messageSupplier.get());
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return this.debug;
+        }
+
+        @Override
+        public void debug(final CharSequence message) {
+            if (this.debug) {
+                print("[DEBUG] ", message);
+            }
+        }
+
+        @Override
+        public void debug(final Supplier<CharSequence> messageSupplier) {
+            if (this.debug) {
+                debug(messageSupplier.get());
+            }
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public void info(final CharSequence message) {
+            print("[INFO] ", message);
+        }
+
+        @Override
+        public void info(final Supplier<CharSequence> messageSupplier) {
+            info(messageSupplier.get());
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public void warn(final CharSequence message) {
+            print("[WARNING] ", message);
+        }
+
+        @Override
+        public void warn(final Supplier<CharSequence> messageSupplier) {
+            warn(messageSupplier.get());
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+
+        @Override
+        public void error(final CharSequence message) {
+            print("[ERROR] ", message);
+        }
+
+        @Override
+        public void error(final Supplier<CharSequence> messageSupplier) {
+            error(messageSupplier.get());
+        }
+    }
+
+    private final StandaloneRuleFactory ruleFactory;
+
+    private final RepositorySystemSession repositorySession;
+
+    private final ModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
+
+    private int parallelism = 1;
+
+    private Consumer<NoOverwriteDependencies> configurator = rule -> {
+    };
+
+    private PrintStream log = System.err;
+
+    private boolean debug = false;
+
+    /**
+     * @param localRepository local repository to collect dependencies from.
+     */
+    public BatchScanner(final File localRepository) {
+        this.ruleFactory = new StandaloneRuleFactory(localRepository);
+        this.repositorySession = this.ruleFactory.newRepositorySession();
+    }
+
+    /**
+     * @param parallelism number of POM files that are checked at the same time.
+     */
+    public BatchScanner setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param configurator sets parameters of the rule for every project.
+     */
+    public BatchScanner setConfigurator(final Consumer<NoOverwriteDependencies> configurator) {
+        this.configurator = Check.notNull(configurator, "Configurator should not be null");
+        return this;
+    }
+
+    /**
+     * @param log where messages of the rule are printed.
+     */
+    public BatchScanner setLog(final PrintStream log) {
+        this.log = Check.notNull(log, "Log should not be null");
+        return this;
+    }
+
+    public BatchScanner setDebug(final boolean debug) {
+        this.debug = debug;
+        return this;
+    }
+
+    /**
+     * @return all <code>pom.xml</code> files inside of the directory, except
+     *         of hidden and <code>target</code> directories, in alphabetical
+     *         order.
+     */
+    public static List<File> findPoms(final File directory) throws IOException {
+        final List<File> poms = new ArrayList<>();
+        Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                final String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                if (!dir.equals(directory.toPath()) && (name.startsWith(".") || name.equals("target"))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (file.getFileName().toString().equals("pom.xml")) {
+                    poms.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(poms);
+        return poms;
+    }
+
+    /**
+     * Build project the same way as tests of the rule do: effective model with
+     * parents found by relative path.
+     */
+    public MavenProject readProject(final File pom) throws ModelBuildingException {
+        final ModelBuildingRequest request = new DefaultModelBuildingRequest();
+        request.setPomFile(pom);
+        request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+        request.setSystemProperties(System.getProperties());
+
+        final ModelBuildingResult result = this.modelBuilder.build(request);
+        final MavenProject project = new MavenProject(result.getEffectiveModel());
+        project.setOriginalModel(result.getRawModel());
+        project.setFile(pom);
+        return project;
+    }
+
+    private Result check(final File pom) {
+        try {
+            final MavenProject project = readProject(pom);
+            final NoOverwriteDependencies rule = this.ruleFactory.newRule(project,
+                    this.ruleFactory.newSession(this.repositorySession, project));
+            rule.setLog(new PrefixLogger(pom, this.log, this.debug));
+            this.configurator.accept(rule);
+            rule.execute();
+            return new Result(pom, null, null);
+        } catch (EnforcerRuleException e) {
+            return new Result(pom, e.getMessage(), null);
+        } catch (ModelBuildingException e) {
+            return new Result(pom, null, "Can not build model: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return new Result(pom, null, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * @return results in the same order as POM files.
+     */
+    public List<Result> scan(final List<File> poms) {
+        try (ParallelExecutor executor = new ParallelExecutor(this.parallelism)) {
+            return executor.map(poms, this::check);
+        }
+    }
+
+    /**
+     * @return one report about all checked POM files.
+     */
+    public static String toReport(final List<Result> results) {
+        int failed = 0;
+        int errors = 0;
+        final StringBuilder details = new StringBuilder();
+        for (Result result : results) {
+            if (result.getFailure() != null) {
+                ++failed;
+                details.append("[FAILED] ").append(result.getPom().getPath()).append('\n')
+                        .append(result.getFailure());
+            } else if (result.getError() != null) {
+                ++errors;
+                details.append("[ERROR] ").append(result.getPom().getPath()).append('\n')
+                        .append(" - ").append(result.getError()).append('\n');
+            }
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Checked ").append(results.size()).append(" POM files: ")
+                .append(results.size() - failed - errors).append(" passed, ")
+                .append(failed).append(" failed, ")
+                .append(errors).append(" not checked\n");
+        sb.append(details);
+        return sb.toString();
+    }
+
+    private static void printUsage(final PrintStream out) {
+        out.println("Usage: BatchScanner [options] <directory or pom.xml>...");
+        out.println("  --local-repository <dir>  local repository (default: ~/.m2/repository)");
+        out.println("  --parallelism <n>         number of POM files checked at the same time (default: 1)");
+        out.println("  --collection-mode <mode>  PER_ROOT, BATCH or DESCRIPTOR (default: PER_ROOT)");
+        out.println("  --debug                   print debug messages of the rule");
+    }
+
+    /**
+     * @return exit code: <code>0</code> if all POM files are correct,
+     *         <code>1</code> if some of them are not, <code>2</code> if
+     *         arguments are wrong.
+     */
+    public static int run(final String[] args, final PrintStream out) throws IOException {
+        File localRepository = new File(System.getProperty("user.home"), ".m2/repository");
+        int parallelism = 1;
+        CollectionMode collectionMode = CollectionMode.PER_ROOT;
+        boolean debug = false;
+        final List<File> poms = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "--local-repository":
+                        localRepository = new File(args[++i]);
+                        break;
+                    case "--parallelism":
+                        parallelism = Integer.parseInt(args[++i]);
+                        break;
+                    case "--collection-mode":
+                        collectionMode = CollectionMode.valueOf(args[++i]);
+                        break;
+                    case "--debug":
+                        debug = true;
+                        break;
+                    default:
+                        final File file = new File(args[i]);
+                        if (file.isDirectory()) {
+                            poms.addAll(findPoms(file));
+                        } else if (file.isFile()) {
+                            poms.add(file);
+                        } else {
+                            throw new IllegalArgumentException("File not found: " + args[i]);
+                        }
+                        break;
+                }
+            }
+            if (poms.isEmpty()) {
+                throw new IllegalArgumentException("No POM files to check");
+            }
+            if (collectionMode == CollectionMode.PROJECT) {
+                throw new IllegalArgumentException("PROJECT collection mode is not supported");
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            out.println(e instanceof ArrayIndexOutOfBoundsException ? "Option requires a value" : e.getMessage());
+            printUsage(out);
+            return 2;
+        }
+
+        final CollectionMode mode = collectionMode;
+        final List<Result> results = new BatchScanner(localRepository)
+                .setParallelism(parallelism)
+                .setConfigurator(rule -> rule.setCollectionMode(mode))
+                .setLog(out)
+                .setDebug(debug)
+                .scan(poms);
+        out.print(toReport(results));
+        return results.stream().allMatch(Result::isSuccess) ? 0 : 1;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        System.exit(run(args, System.out));
+    }
+}
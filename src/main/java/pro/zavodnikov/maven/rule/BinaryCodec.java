@@ -0,0 +1,356 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Binary format of files of the rule:
+ *
+ * <pre>
+ * int    magic
+ * int    format version
+ * ...    content
+ * </pre>
+ *
+ * Content is built from ints, longs, strings (int length + UTF-8 bytes), POM
+ * stamps and dependencies:
+ *
+ * <pre>
+ * int    number of POM stamps, then (string path, long last modified, long length)
+ * int    number of strings, then strings
+ * int    number of dependencies, then 6 ints per dependency
+ * </pre>
+ *
+ * Ints of dependencies refer to the string table before them.
+ * <p>
+ * Several builds can share the same files, so file is written to temporary
+ * location first and then moved to the target one.
+ */
+final class BinaryCodec {
+
+    /**
+     * Content of the file to write.
+     */
+    interface Writer {
+
+        void write(Output out) throws IOException;
+    }
+
+    /**
+     * Content of the file to read.
+     */
+    interface Reader<T> {
+
+        T read(Input in) throws IOException;
+    }
+
+    /**
+     * Last modification time and length of POM files that were used to build
+     * some result.
+     */
+    static final class Stamps {
+
+        private final List<String> paths;
+
+        private final long[] lastModified;
+
+        private final long[] lengths;
+
+        private Stamps(final List<String> paths, final long[] lastModified, final long[] lengths) {
+            this.paths = paths;
+            this.lastModified = lastModified;
+            this.lengths = lengths;
+        }
+
+        /**
+         * @param poms POM files, missing ones are skipped.
+         * @param path how path of POM file is stored.
+         */
+        static Stamps of(final Collection<File> poms, final Function<File, String> path) {
+            final List<String> paths = new ArrayList<>(poms.size());
+            final long[] lastModified = new long[poms.size()];
+            final long[] lengths = new long[poms.size()];
+            for (File pom : poms) {
+                if (pom.isFile()) {
+                    lastModified[paths.size()] = pom.lastModified();
+                    lengths[paths.size()] = pom.length();
+                    paths.add(path.apply(pom));
+                }
+            }
+            return new Stamps(paths, lastModified, lengths);
+        }
+
+        List<String> getPaths() {
+            return Collections.unmodifiableList(this.paths);
+        }
+
+        /**
+         * @param file how POM file is found by its stored path.
+         * @return <code>true</code> if none of POM files was changed or removed.
+         */
+        boolean isActual(final Function<String, File> file) {
+            for (int i = 0; i < this.paths.size(); ++i) {
+                final File pom = file.apply(this.paths.get(i));
+                if (!pom.isFile() || pom.lastModified() != this.lastModified[i] || pom.length() != this.lengths[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writer of content.
+     */
+    static final class Output {
+
+        private final DataOutputStream data;
+
+        private Output(final DataOutputStream data) {
+            this.data = data;
+        }
+
+        void writeInt(final int value) throws IOException {
+            this.data.writeInt(value);
+        }
+
+        void writeBoolean(final boolean value) throws IOException {
+            this.data.writeBoolean(value);
+        }
+
+        /*
+         * DataOutput.writeUTF() is limited to 64K, but error message can be
+         * longer.
+         */
+        void writeString(final String value) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.data.writeInt(bytes.length);
+            this.data.write(bytes);
+        }
+
+        void writeStamps(final Stamps stamps) throws IOException {
+            this.data.writeInt(stamps.paths.size());
+            for (int i = 0; i < stamps.paths.size(); ++i) {
+                writeString(stamps.paths.get(i));
+                this.data.writeLong(stamps.lastModified[i]);
+                this.data.writeLong(stamps.lengths[i]);
+            }
+        }
+
+        private static void index(final Map<String, Integer> stringIndex, final List<String> strings,
+                final String value) {
+            if (!stringIndex.containsKey(value)) {
+                stringIndex.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+
+        void writeDependencies(final Collection<RuleDependency> dependencies) throws IOException {
+            final Map<String, Integer> stringIndex = new HashMap<>();
+            final List<String> strings = new ArrayList<>();
+            for (RuleDependency d : dependencies) {
+                index(stringIndex, strings, d.getGroupId());
+                index(stringIndex, strings, d.getArtifactId());
+                index(stringIndex, strings, d.getClassifier());
+                index(stringIndex, strings, d.getType());
+                index(stringIndex, strings, d.getVersion());
+                index(stringIndex, strings, d.getScope());
+            }
+
+            this.data.writeInt(strings.size());
+            for (String s : strings) {
+                writeString(s);
+            }
+
+            this.data.writeInt(dependencies.size());
+            for (RuleDependency d : dependencies) {
+                this.data.writeInt(stringIndex.get(d.getGroupId()));
+                this.data.writeInt(stringIndex.get(d.getArtifactId()));
+                this.data.writeInt(stringIndex.get(d.getClassifier()));
+                this.data.writeInt(stringIndex.get(d.getType()));
+                this.data.writeInt(stringIndex.get(d.getVersion()));
+                this.data.writeInt(stringIndex.get(d.getScope()));
+            }
+        }
+    }
+
+    /**
+     * Reader of content. Truncated or corrupted content throws
+     * {@link RuntimeException}.
+     */
+    static final class Input {
+
+        private final ByteBuffer buffer;
+
+        private Input(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readInt() {
+            return this.buffer.getInt();
+        }
+
+        boolean readBoolean() {
+            return this.buffer.get() != 0;
+        }
+
+        /*
+         * Count is checked against the rest of the buffer, so corrupted count
+         * is a miss instead of huge or negative allocation.
+         */
+        private int readCount(final int minItemBytes) {
+            final int count = this.buffer.getInt();
+            if (count < 0 || count > this.buffer.remaining() / minItemBytes) {
+                throw new BufferUnderflowException();
+            }
+            return count;
+        }
+
+        String readString() {
+            final byte[] bytes = new byte[readCount(1)];
+            this.buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Stamps readStamps() {
+            final int count = readCount(4 + 8 + 8);
+            final List<String> paths = new ArrayList<>(count);
+            final long[] lastModified = new long[count];
+            final long[] lengths = new long[count];
+            for (int i = 0; i < count; ++i) {
+                paths.add(readString());
+                lastModified[i] = this.buffer.getLong();
+                lengths[i] = this.buffer.getLong();
+            }
+            return new Stamps(paths, lastModified, lengths);
+        }
+
+        List<RuleDependency> readDependencies() {
+            final String[] strings = new String[readCount(4)];
+            for (int i = 0; i < strings.length; ++i) {
+                strings[i] = readString();
+            }
+
+            final int count = readCount(6 * 4);
+            final List<RuleDependency> dependencies = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                dependencies.add(new RuleDependency(
+                        strings[this.buffer.getInt()],
+                        strings[this.buffer.getInt()],
+                        strings[this.buffer.getInt()],
+                        strings[this.buffer.getInt()],
+                        strings[this.buffer.getInt()],
+                        strings[this.buffer.getInt()]));
+            }
+            return dependencies;
+        }
+    }
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * @return read content or <code>null</code> if file does not exist, has
+     *         unknown format or is corrupted.
+     */
+    static <T> T read(final File file, final int magic, final int version, final Reader<T> reader)
+            throws IOException {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        return read(ByteBuffer.wrap(Files.readAllBytes(file.toPath())), magic, version, reader);
+    }
+
+    /**
+     * Same as {@link #read(File, int, int, Reader)}, but file is memory
+     * mapped. Mapped file can not be replaced on some platforms until mapping
+     * is garbage collected, so it is intended for files that are rarely
+     * rewritten.
+     */
+    static <T> T map(final File file, final int magic, final int version, final Reader<T> reader)
+            throws IOException {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), magic, version, reader);
+        }
+    }
+
+    private static <T> T read(final ByteBuffer buffer, final int magic, final int version, final Reader<T> reader)
+            throws IOException {
+        try {
+            final Input in = new Input(buffer);
+            if (in.readInt() != magic || in.readInt() != version) {
+                return null;
+            }
+            return reader.read(in);
+        } catch (RuntimeException e) { // Truncated or corrupted file.
+            return null;
+        }
+    }
+
+    static void write(final File file, final int magic, final int version, final Writer writer)
+            throws IOException {
+        final Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        final Path tmp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp);
+                    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+                data.writeInt(magic);
+                data.writeInt(version);
+                writer.write(new Output(data));
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Closure of Dependency Management that parent project publishes as secondary
+ * artifact, so its modules read it instead of collecting the same closure
+ * again.
+ * <p>
+ * Dependencies are sorted by group and artifact and stored in compact binary
+ * format of {@link BinaryCodec}:
+ *
+ * <pre>
+ * string fingerprint
+ * dependencies
+ * </pre>
+ *
+ * Every entry of the closure is stored with its full coordinates, not only
+ * version and scope per group and artifact: one artifact can be managed with
+ * several versions or scopes through different roots, and every pair is
+ * compared and reported with coordinates of the managed dependency.
+ */
+public class ClosureIndex {
+
+    /**
+     * Type and extension of the artifact.
+     */
+    public static final String TYPE = "closure-index";
+
+    /**
+     * Classifier of the artifact.
+     */
+    public static final String CLASSIFIER = "no-overwrite-dependencies";
+
+    private static final int MAGIC = 0x4E4F4349;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final Comparator<RuleDependency> ORDER = Comparator
+            .comparing(RuleDependency::getArtifactKey)
+            .thenComparing(RuleDependency::getCoordinatesKey)
+            .thenComparing(RuleDependency::getScope);
+
+    private final String fingerprint;
+
+    private final List<RuleDependency> dependencies;
+
+    private ClosureIndex(final String fingerprint, final List<RuleDependency> dependencies) {
+        this.fingerprint = fingerprint;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * @param fingerprint fingerprint of everything the closure depends on.
+     * @param closure     closure of Dependency Management.
+     */
+    public static ClosureIndex of(final String fingerprint, final Collection<RuleDependency> closure) {
+        final List<RuleDependency> sorted = new ArrayList<>(closure);
+        sorted.sort(ORDER);
+        return new ClosureIndex(Check.notNull(fingerprint, "Fingerprint should not be null"), sorted);
+    }
+
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * @return dependencies sorted by group and artifact.
+     */
+    public List<RuleDependency> getDependencies() {
+        return Collections.unmodifiableList(this.dependencies);
+    }
+
+    /**
+     * @return <code>true</code> if closure can be used for Dependency
+     *         Management with provided fingerprint.
+     */
+    public boolean isActual(final String currentFingerprint) {
+        return this.fingerprint.equals(currentFingerprint);
+    }
+
+    /**
+     * @return stored index or <code>null</code> if file does not exist or has
+     *         unknown format.
+     */
+    public static ClosureIndex read(final File file) throws IOException {
+        return BinaryCodec.read(file, MAGIC, FORMAT_VERSION,
+                in -> new ClosureIndex(in.readString(), in.readDependencies()));
+    }
+
+    public void write(final File file) throws IOException {
+        BinaryCodec.write(file, MAGIC, FORMAT_VERSION, out -> {
+            out.writeString(this.fingerprint);
+            out.writeDependencies(this.dependencies);
+        });
+    }
+}
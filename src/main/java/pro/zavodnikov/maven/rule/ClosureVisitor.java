@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+
+/**
+ * Visitor that converts dependencies of the graph while walking it, so no
+ * intermediate lists of nodes are built.
+ * <p>
+ * Nodes are visited in pre-order. Node that was already visited is not
+ * entered again, so shared sub-graphs are walked once and cycles are cut.
+ * Equal dependencies of different nodes are kept once, so memory is
+ * proportional to the number of unique dependencies, not to the number of
+ * paths of the graph.
+ */
+public class ClosureVisitor implements DependencyVisitor {
+
+    private final Function<Dependency, RuleDependency> converter;
+
+    private final RuleDependency excluded;
+
+    private final Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Set<RuleDependency> dependencies = new LinkedHashSet<>();
+
+    /**
+     * @param converter converts dependency of a node.
+     * @param excluded  dependency that is not added, usually the root;
+     *                  <code>null</code> means that all dependencies are
+     *                  added.
+     */
+    public ClosureVisitor(final Function<Dependency, RuleDependency> converter, final RuleDependency excluded) {
+        this.converter = Check.notNull(converter, "Converter should not be null");
+        this.excluded = excluded;
+    }
+
+    @Override
+    public boolean visitEnter(final DependencyNode node) {
+        if (!this.visited.add(node)) {
+            return false;
+        }
+        if (node.getDependency() != null) {
+            final RuleDependency dependency = this.converter.apply(node.getDependency());
+            if (!dependency.equals(this.excluded)) {
+                this.dependencies.add(dependency);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean visitLeave(final DependencyNode node) {
+        return true;
+    }
+
+    /**
+     * @return unique dependencies in order they were found.
+     */
+    public List<RuleDependency> getDependencies() {
+        return new ArrayList<>(this.dependencies);
+    }
+}
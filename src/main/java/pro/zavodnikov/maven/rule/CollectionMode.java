@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+/**
+ * How transitive dependencies of Dependency Management are collected.
+ */
+public enum CollectionMode {
+
+    /**
+     * Collect every managed dependency (and every transitive dependency found
+     * on the way) with separate request.
+     */
+    PER_ROOT,
+
+    /**
+     * Collect all managed dependencies with single request and read transitive
+     * dependencies from one resolved graph. Scopes and management are the same
+     * as in {@link #PER_ROOT}, but when managed dependencies bring different
+     * versions of the same artifact, transitive dependencies are collected only
+     * for the version that wins mediation.
+     */
+    BATCH,
+
+    /**
+     * Derive transitive dependencies of managed dependencies from dependency
+     * graph of the project that is resolved by Maven itself. Only managed
+     * dependencies that are used by the project are expanded; versions and
+     * scopes that were changed by Dependency Management are taken before
+     * management.
+     */
+    PROJECT,
+
+    /**
+     * Same as {@link #PER_ROOT}, but direct dependencies are read from POM
+     * files of local repository by {@link DescriptorReader}. Resolver is used
+     * only for dependencies which POM files can not be read that way.
+     * Dependency Management and exclusions of dependents are not applied.
+     */
+    DESCRIPTOR,
+}
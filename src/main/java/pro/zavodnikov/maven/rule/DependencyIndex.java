@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of dependencies by <code>groupId:artifactId</code>.
+ */
+public class DependencyIndex {
+
+    private final Map<String, List<RuleDependency>> byArtifact = new HashMap<>();
+
+    private int size = 0;
+
+    public DependencyIndex() {
+    }
+
+    public DependencyIndex(final Collection<RuleDependency> dependencies) {
+        addAll(dependencies);
+    }
+
+    /**
+     * Add dependency to index. Dependencies of the same artifact keep the order
+     * they were added.
+     */
+    public void add(final RuleDependency dependency) {
+        this.byArtifact.computeIfAbsent(dependency.getArtifactKey(), k -> new ArrayList<>(1)).add(dependency);
+        ++this.size;
+    }
+
+    public void addAll(final Collection<RuleDependency> dependencies) {
+        for (RuleDependency d : dependencies) {
+            add(d);
+        }
+    }
+
+    /**
+     * @return all indexed dependencies with the same <code>groupId</code> and
+     *         <code>artifactId</code> as provided one.
+     */
+    public List<RuleDependency> find(final RuleDependency dependency) {
+        final List<RuleDependency> found = this.byArtifact.get(dependency.getArtifactKey());
+        if (found == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * @return number of indexed dependencies.
+     */
+    public int size() {
+        return this.size;
+    }
+}
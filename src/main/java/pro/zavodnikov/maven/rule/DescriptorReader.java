@@ -0,0 +1,466 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactType;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Reader of direct dependencies from POM files of local repository.
+ * <p>
+ * It is a lightweight alternative to collection by resolver: only parent
+ * inheritance, import of BOMs, property interpolation and Dependency
+ * Management of the POM itself are applied. POM files (or their parents and
+ * imported BOMs) with relocation, version ranges, unresolved properties or
+ * profiles that declare dependencies, Dependency Management or properties are
+ * not supported: they are reported as unknown (<code>null</code>) and should
+ * be collected by resolver.
+ * <p>
+ * Unlike resolver, Dependency Management and exclusions of dependents are not
+ * applied to dependencies of the POM, because every POM is read once for all
+ * its dependents.
+ * <p>
+ * Read POM files are cached, so the same instance should be shared by all
+ * modules of the build.
+ */
+public class DescriptorReader {
+
+    private static final Object KEY = DescriptorReader.class;
+
+    private static final int MAX_INTERPOLATION_DEPTH = 16;
+
+    /**
+     * Inherited and resolved content of one POM.
+     */
+    private static final class Descriptor {
+
+        private final Properties properties = new Properties();
+
+        private final Map<String, Dependency> rawDependencies = new LinkedHashMap<>();
+
+        private final Map<String, Dependency> rawManaged = new LinkedHashMap<>();
+
+        private final Map<String, Dependency> managed = new LinkedHashMap<>();
+
+        private final List<RuleDependency> dependencies = new ArrayList<>();
+    }
+
+    /**
+     * POM files of one POM, its parents and imported BOMs.
+     */
+    private static final class Chain {
+
+        private final Properties properties = new Properties();
+
+        private final Set<File> poms = new LinkedHashSet<>();
+    }
+
+    private final File localRepository;
+
+    private final ArtifactTypeRegistry typeRegistry;
+
+    private final ConcurrentMap<String, Optional<Descriptor>> descriptors = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Chain> chains = new ConcurrentHashMap<>();
+
+    /**
+     * @param localRepository base directory of local repository with default
+     *                        layout.
+     * @param typeRegistry    registry to convert dependency types to
+     *                        extensions and classifiers. Can be
+     *                        <code>null</code>.
+     */
+    public DescriptorReader(final File localRepository, final ArtifactTypeRegistry typeRegistry) {
+        this.localRepository = Check.notNull(localRepository, "Local repository should not be null");
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * @return reader that is bound to provided repository session.
+     */
+    public static DescriptorReader of(final RepositorySystemSession session) {
+        return SessionDataSupport.computeIfAbsent(session, KEY,
+                () -> new DescriptorReader(session.getLocalRepository().getBasedir(),
+                        session.getArtifactTypeRegistry()));
+    }
+
+    /**
+     * @return number of read POM files.
+     */
+    public int size() {
+        return this.descriptors.size();
+    }
+
+    /**
+     * @return POM file of the artifact in local repository.
+     */
+    public File getPom(final String groupId, final String artifactId, final String version) {
+        return new File(this.localRepository, groupId.replace('.', '/') + '/' + artifactId + '/' + version + '/'
+                + artifactId + '-' + version + ".pom");
+    }
+
+    /**
+     * @return direct dependencies that are inherited by dependents of the
+     *         provided one (without <code>test</code>, <code>provided</code>
+     *         and optional ones) or <code>null</code> if they can not be read
+     *         from local repository.
+     */
+    public List<RuleDependency> getDependencies(final RuleDependency dependency) {
+        final Descriptor descriptor = getDescriptor(dependency.getGroupId(), dependency.getArtifactId(),
+                dependency.getVersion(), new HashSet<>());
+        return descriptor != null ? Collections.unmodifiableList(descriptor.dependencies) : null;
+    }
+
+    /**
+     * @return POM file of the artifact in local repository with POM files of
+     *         its parents and imported BOMs, recursively. Unlike
+     *         {@link #getDependencies(RuleDependency)}, every POM is
+     *         supported: parents and imports that can not be read or resolved
+     *         are skipped.
+     */
+    public Set<File> getPomChain(final String groupId, final String artifactId, final String version) {
+        return Collections.unmodifiableSet(getChain(groupId, artifactId, version, new HashSet<>()).poms);
+    }
+
+    private static String getGav(final String groupId, final String artifactId, final String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    private static String getManagementKey(final Dependency dependency) {
+        return dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getType() + ":"
+                + Check.defaultValue(dependency.getClassifier(), "");
+    }
+
+    private static boolean isResolved(final String value) {
+        return value != null && !value.contains("${");
+    }
+
+    private static boolean isVersionRange(final String version) {
+        return version.startsWith("[") || version.startsWith("(");
+    }
+
+    /*
+     * Recursive reads are not done inside of computeIfAbsent(), because
+     * ConcurrentHashMap does not allow to update itself from the mapping
+     * function. Two threads can read the same POM, but result is the same.
+     * Only finished reads are cached; POM files that are being read by the
+     * current thread are tracked separately to break cycles of parents and
+     * imports.
+     */
+    private Descriptor getDescriptor(final String groupId, final String artifactId, final String version,
+            final Set<String> reading) {
+        final String gav = getGav(groupId, artifactId, version);
+        Optional<Descriptor> descriptor = this.descriptors.get(gav);
+        if (descriptor == null) {
+            if (!reading.add(gav)) {
+                return null; // Cycle.
+            }
+            try {
+                descriptor = Optional.ofNullable(readDescriptor(groupId, artifactId, version, reading));
+            } finally {
+                reading.remove(gav);
+            }
+            this.descriptors.putIfAbsent(gav, descriptor);
+        }
+        return descriptor.orElse(null);
+    }
+
+    /*
+     * Same caching as for descriptors.
+     */
+    private Chain getChain(final String groupId, final String artifactId, final String version,
+            final Set<String> reading) {
+        final String gav = getGav(groupId, artifactId, version);
+        Chain chain = this.chains.get(gav);
+        if (chain == null) {
+            if (!reading.add(gav)) {
+                return new Chain(); // Cycle.
+            }
+            try {
+                chain = readChain(groupId, artifactId, version, reading);
+            } finally {
+                reading.remove(gav);
+            }
+            this.chains.putIfAbsent(gav, chain);
+        }
+        return chain;
+    }
+
+    private Chain readChain(final String groupId, final String artifactId, final String version,
+            final Set<String> reading) {
+        final Chain chain = new Chain();
+        if (!isResolved(groupId) || !isResolved(artifactId) || !isResolved(version) || isVersionRange(version)) {
+            return chain;
+        }
+
+        final File pom = getPom(groupId, artifactId, version);
+        chain.poms.add(pom);
+        if (!pom.isFile()) {
+            return chain;
+        }
+
+        final Model model;
+        try {
+            model = PomReader.read(pom);
+        } catch (IOException e) {
+            return chain;
+        }
+
+        final Parent parent = model.getParent();
+        if (parent != null) {
+            final Chain parentChain = getChain(parent.getGroupId(), parent.getArtifactId(), parent.getVersion(),
+                    reading);
+            chain.properties.putAll(parentChain.properties);
+            chain.poms.addAll(parentChain.poms);
+        }
+
+        chain.properties.putAll(model.getProperties());
+        setBuiltInProperties(chain.properties, model);
+
+        if (model.getDependencyManagement() != null) {
+            for (Dependency raw : model.getDependencyManagement().getDependencies()) {
+                final Dependency d = interpolate(raw, chain.properties);
+                if ("import".equals(d.getScope()) && "pom".equals(d.getType())) {
+                    chain.poms.addAll(getChain(d.getGroupId(), d.getArtifactId(), d.getVersion(), reading).poms);
+                }
+            }
+        }
+        return chain;
+    }
+
+    private static boolean hasProfiles(final Model model) {
+        for (Profile profile : model.getProfiles()) {
+            if (!profile.getDependencies().isEmpty() || profile.getDependencyManagement() != null
+                    || !profile.getProperties().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Descriptor readDescriptor(final String groupId, final String artifactId, final String version,
+            final Set<String> reading) {
+        if (!isResolved(groupId) || !isResolved(artifactId) || !isResolved(version) || isVersionRange(version)) {
+            return null;
+        }
+
+        final File pom = getPom(groupId, artifactId, version);
+        if (!pom.isFile()) {
+            return null;
+        }
+
+        final Model model;
+        try {
+            model = PomReader.read(pom);
+        } catch (IOException e) {
+            return null;
+        }
+        if (hasProfiles(model)
+                || model.getDistributionManagement() != null
+                        && model.getDistributionManagement().getRelocation() != null) {
+            return null;
+        }
+
+        final Descriptor descriptor = new Descriptor();
+        final Parent parent = model.getParent();
+        if (parent != null) {
+            final Descriptor parentDescriptor = getDescriptor(parent.getGroupId(), parent.getArtifactId(),
+                    parent.getVersion(), reading);
+            if (parentDescriptor == null) {
+                return null;
+            }
+            descriptor.properties.putAll(parentDescriptor.properties);
+            descriptor.rawDependencies.putAll(parentDescriptor.rawDependencies);
+            descriptor.rawManaged.putAll(parentDescriptor.rawManaged);
+        }
+
+        descriptor.properties.putAll(model.getProperties());
+        setBuiltInProperties(descriptor.properties, model);
+
+        for (Dependency d : model.getDependencies()) {
+            descriptor.rawDependencies.put(getManagementKey(d), d);
+        }
+        if (model.getDependencyManagement() != null) {
+            for (Dependency d : model.getDependencyManagement().getDependencies()) {
+                descriptor.rawManaged.put(getManagementKey(d), d);
+            }
+        }
+
+        if (!resolveManaged(descriptor, reading) || !resolveDependencies(descriptor)) {
+            return null;
+        }
+        return descriptor;
+    }
+
+    private static void setBuiltInProperties(final Properties properties, final Model model) {
+        final Parent parent = model.getParent();
+        final String groupId = model.getGroupId() != null ? model.getGroupId()
+                : parent != null ? parent.getGroupId() : null;
+        final String version = model.getVersion() != null ? model.getVersion()
+                : parent != null ? parent.getVersion() : null;
+
+        for (String prefix : new String[] { "project.", "pom.", "" }) {
+            setProperty(properties, prefix + "groupId", groupId);
+            setProperty(properties, prefix + "artifactId", model.getArtifactId());
+            setProperty(properties, prefix + "version", version);
+        }
+        if (parent != null) {
+            setProperty(properties, "project.parent.groupId", parent.getGroupId());
+            setProperty(properties, "project.parent.artifactId", parent.getArtifactId());
+            setProperty(properties, "project.parent.version", parent.getVersion());
+            setProperty(properties, "parent.version", parent.getVersion());
+        }
+    }
+
+    private static void setProperty(final Properties properties, final String name, final String value) {
+        if (value != null) {
+            properties.setProperty(name, value);
+        }
+    }
+
+    private static String interpolate(final String value, final Properties properties) {
+        if (value == null || value.indexOf("${") < 0) {
+            return value;
+        }
+
+        String result = value;
+        for (int i = 0; i < MAX_INTERPOLATION_DEPTH && result.indexOf("${") >= 0; ++i) {
+            final StringBuilder sb = new StringBuilder();
+            int from = 0;
+            int start;
+            while ((start = result.indexOf("${", from)) >= 0) {
+                final int end = result.indexOf('}', start);
+                if (end < 0) {
+                    break;
+                }
+                final String property = properties.getProperty(result.substring(start + 2, end));
+                sb.append(result, from, start).append(property != null ? property : result.substring(start, end + 1));
+                from = end + 1;
+            }
+            sb.append(result.substring(from));
+
+            final String next = sb.toString();
+            if (next.equals(result)) {
+                break;
+            }
+            result = next;
+        }
+        return result;
+    }
+
+    private static Dependency interpolate(final Dependency dependency, final Properties properties) {
+        final Dependency interpolated = dependency.clone();
+        interpolated.setGroupId(interpolate(dependency.getGroupId(), properties));
+        interpolated.setArtifactId(interpolate(dependency.getArtifactId(), properties));
+        interpolated.setVersion(interpolate(dependency.getVersion(), properties));
+        interpolated.setType(interpolate(dependency.getType(), properties));
+        interpolated.setClassifier(interpolate(dependency.getClassifier(), properties));
+        interpolated.setScope(interpolate(dependency.getScope(), properties));
+        interpolated.setOptional(interpolate(dependency.getOptional(), properties));
+        return interpolated;
+    }
+
+    /*
+     * Same order as in Maven: own and inherited entries win over imported
+     * ones, earlier imports win over later ones.
+     */
+    private boolean resolveManaged(final Descriptor descriptor, final Set<String> reading) {
+        final List<Dependency> imports = new ArrayList<>();
+        for (Dependency raw : descriptor.rawManaged.values()) {
+            final Dependency d = interpolate(raw, descriptor.properties);
+            if ("import".equals(d.getScope()) && "pom".equals(d.getType())) {
+                imports.add(d);
+            } else {
+                descriptor.managed.put(getManagementKey(d), d);
+            }
+        }
+
+        for (Dependency d : imports) {
+            final Descriptor imported = getDescriptor(d.getGroupId(), d.getArtifactId(), d.getVersion(), reading);
+            if (imported == null) {
+                return false;
+            }
+            for (Map.Entry<String, Dependency> entry : imported.managed.entrySet()) {
+                descriptor.managed.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return true;
+    }
+
+    private boolean resolveDependencies(final Descriptor descriptor) {
+        for (Dependency raw : descriptor.rawDependencies.values()) {
+            final Dependency d = interpolate(raw, descriptor.properties);
+            final Dependency managed = descriptor.managed.get(getManagementKey(d));
+            if (managed != null) {
+                if (d.getVersion() == null) {
+                    d.setVersion(managed.getVersion());
+                }
+                if (d.getScope() == null) {
+                    d.setScope(managed.getScope());
+                }
+            }
+
+            if ("test".equals(d.getScope()) || "provided".equals(d.getScope()) || d.isOptional()) {
+                continue;
+            }
+            if (!isResolved(d.getGroupId()) || !isResolved(d.getArtifactId()) || !isResolved(d.getVersion())
+                    || !isResolved(d.getType()) || isVersionRange(d.getVersion())) {
+                return false;
+            }
+            descriptor.dependencies.add(toRuleDependency(d));
+        }
+        return true;
+    }
+
+    private RuleDependency toRuleDependency(final Dependency dependency) {
+        final ArtifactType type = this.typeRegistry != null ? this.typeRegistry.get(dependency.getType()) : null;
+        final DefaultArtifact artifact = type != null
+                ? new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                        dependency.getClassifier(), null, dependency.getVersion(), type)
+                : new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                        dependency.getClassifier(), dependency.getType(), dependency.getVersion());
+        return new RuleDependency(artifact, dependency.getScope());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 fingerprint of sequence of values.
+ */
+public class Fingerprint {
+
+    private final MessageDigest digest;
+
+    public Fingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Add value. Values are separated, so <code>"ab", "c"</code> and
+     * <code>"a", "bc"</code> give different fingerprints.
+     */
+    public Fingerprint add(final Object value) {
+        return update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add content of the file. Missing file is different from empty one.
+     */
+    public Fingerprint addContent(final File file) throws IOException {
+        add(file.isFile());
+        if (file.isFile()) {
+            update(Files.readAllBytes(file.toPath()));
+        }
+        return this;
+    }
+
+    private Fingerprint update(final byte[] bytes) {
+        final int length = bytes.length;
+        this.digest.update(new byte[] {
+                (byte) (length >>> 24),
+                (byte) (length >>> 16),
+                (byte) (length >>> 8),
+                (byte) length,
+        });
+        this.digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * @return hexadecimal representation of fingerprint. Fingerprint can not be
+     *         used after that.
+     */
+    public String toHex() {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : this.digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return hexadecimal fingerprint of one value.
+     */
+    public static String of(final Object value) {
+        return new Fingerprint().add(value).toHex();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Result of the last rule execution together with fingerprint of its inputs.
+ * <p>
+ * State is actual if fingerprint of inputs is the same and none of POM files
+ * that were used to build transitive dependencies were changed.
+ */
+public class IncrementalState {
+
+    private static final int MAGIC = 0x4E4F4953;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final String fingerprint;
+
+    private final String failure;
+
+    private final BinaryCodec.Stamps stamps;
+
+    private IncrementalState(final String fingerprint, final String failure, final BinaryCodec.Stamps stamps) {
+        this.fingerprint = fingerprint;
+        this.failure = failure;
+        this.stamps = stamps;
+    }
+
+    /**
+     * @param fingerprint fingerprint of rule inputs.
+     * @param failure     error message or <code>null</code> if rule passed.
+     * @param poms        POM files that were used to build transitive
+     *                    dependencies, including their parents and imported
+     *                    BOMs.
+     */
+    public static IncrementalState of(final String fingerprint, final String failure, final Collection<File> poms) {
+        return new IncrementalState(Check.notNull(fingerprint, "Fingerprint should not be null"), failure,
+                BinaryCodec.Stamps.of(poms, File::getAbsolutePath));
+    }
+
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * @return error message or <code>null</code> if rule passed.
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
+    public List<String> getPomPaths() {
+        return this.stamps.getPaths();
+    }
+
+    /**
+     * @return <code>true</code> if result can be reused for inputs with provided
+     *         fingerprint.
+     */
+    public boolean isActual(final String currentFingerprint) {
+        return this.fingerprint.equals(currentFingerprint) && this.stamps.isActual(File::new);
+    }
+
+    /**
+     * @return stored state or <code>null</code> if file does not exist or has
+     *         unknown format.
+     */
+    public static IncrementalState read(final File file) throws IOException {
+        return BinaryCodec.read(file, MAGIC, FORMAT_VERSION, in -> {
+            final String fingerprint = in.readString();
+            final String failure = in.readBoolean() ? in.readString() : null;
+            return new IncrementalState(fingerprint, failure, in.readStamps());
+        });
+    }
+
+    public void write(final File file) throws IOException {
+        BinaryCodec.write(file, MAGIC, FORMAT_VERSION, out -> {
+            out.writeString(this.fingerprint);
+            out.writeBoolean(this.failure != null);
+            if (this.failure != null) {
+                out.writeString(this.failure);
+            }
+            out.writeStamps(this.stamps);
+        });
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of transitive dependencies that lives as long as the class is loaded,
+ * so in Maven Daemon (mvnd) it is reused by following builds.
+ * <p>
+ * Cache is bounded by number of entries and by estimated size in bytes; least
+ * recently used entries are evicted first. Values are held by soft references,
+ * so garbage collector can free them under memory pressure. Entry is
+ * invalidated when any of POM files it was collected from is changed.
+ */
+public final class JvmClosureCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /*
+     * Rough estimation: interned dependencies and strings are shared, so every
+     * dependency of closure costs a reference and a part of an object.
+     */
+    private static final long ENTRY_BYTES = 128;
+
+    private static final long DEPENDENCY_BYTES = 48;
+
+    private static final long POM_BYTES = 96;
+
+    /*
+     * Modules of one build can configure different limits, so every set of
+     * limits has its own cache and no module resizes cache of others. Daemon
+     * can see many configurations, so only caches of recently used ones are
+     * kept.
+     */
+    static final int MAX_INSTANCES = 4;
+
+    private static final Map<String, JvmClosureCache> INSTANCES = new LinkedHashMap<String, JvmClosureCache>(
+            16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, JvmClosureCache> eldest) {
+            return size() > MAX_INSTANCES;
+        }
+    };
+
+    private static final class Entry {
+
+        private final SoftReference<List<RuleDependency>> closure;
+
+        private final File[] poms;
+
+        private final long[] lastModified;
+
+        private final long[] lengths;
+
+        private final long bytes;
+
+        private Entry(final List<RuleDependency> closure, final Collection<File> poms) {
+            this.closure = new SoftReference<>(Collections.unmodifiableList(new ArrayList<>(closure)));
+            this.poms = poms.toArray(new File[0]);
+            this.lastModified = new long[this.poms.length];
+            this.lengths = new long[this.poms.length];
+            for (int i = 0; i < this.poms.length; ++i) {
+                this.lastModified[i] = this.poms[i].lastModified();
+                this.lengths[i] = this.poms[i].length();
+            }
+            this.bytes = ENTRY_BYTES + closure.size() * DEPENDENCY_BYTES + this.poms.length * POM_BYTES;
+        }
+
+        private boolean isActual() {
+            for (int i = 0; i < this.poms.length; ++i) {
+                if (this.poms[i].lastModified() != this.lastModified[i] || this.poms[i].length() != this.lengths[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int maxEntries;
+
+    private long maxBytes;
+
+    private long bytes = 0;
+
+    /**
+     * @param maxEntries maximum number of cached closures.
+     * @param maxBytes   maximum estimated size of cached closures in bytes.
+     */
+    public JvmClosureCache(final int maxEntries, final long maxBytes) {
+        setLimits(maxEntries, maxBytes);
+    }
+
+    /**
+     * @return cache with default limits that is shared by all builds in this
+     *         JVM.
+     */
+    public static JvmClosureCache getInstance() {
+        return getInstance(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxEntries maximum number of cached closures.
+     * @param maxBytes   maximum estimated size of cached closures in bytes.
+     * @return cache with provided limits that is shared by all builds in this
+     *         JVM; only caches of few recently used limits are kept.
+     */
+    public static JvmClosureCache getInstance(final int maxEntries, final long maxBytes) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(maxEntries + ":" + maxBytes,
+                    k -> new JvmClosureCache(maxEntries, maxBytes));
+        }
+    }
+
+    /**
+     * Change limits of the cache. Entries that do not fit are evicted. Limits
+     * of shared instances should not be changed, see
+     * {@link #getInstance(int, long)}.
+     */
+    public synchronized void setLimits(final int maxEntries, final long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Limits of JVM cache should be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    private void evict() {
+        final Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext() && (this.entries.size() > this.maxEntries || this.bytes > this.maxBytes)) {
+            this.bytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return transitive dependencies or <code>null</code> if there is no
+     *         actual value for that key.
+     */
+    public List<RuleDependency> get(final String key) {
+        final Entry entry;
+        synchronized (this) {
+            entry = this.entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+
+        final List<RuleDependency> closure = entry.closure.get();
+        if (closure != null && entry.isActual()) {
+            return closure;
+        }
+        synchronized (this) {
+            if (this.entries.get(key) == entry) {
+                this.entries.remove(key);
+                this.bytes -= entry.bytes;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param poms POM files that were used to collect transitive dependencies.
+     */
+    public void put(final String key, final List<RuleDependency> closure, final Collection<File> poms) {
+        final Entry entry = new Entry(closure, poms);
+        synchronized (this) {
+            final Entry previous = this.entries.put(key, entry);
+            if (previous != null) {
+                this.bytes -= previous.bytes;
+            }
+            this.bytes += entry.bytes;
+            evict();
+        }
+    }
+
+    /**
+     * Remove all cached closures.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    /**
+     * @return number of cached closures.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return estimated size of cached closures in bytes.
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Remember artifacts whose descriptors were not found or were invalid during
+ * collection. Both are ignored by resolver with
+ * {@link org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy}.
+ */
+public class MissingDescriptorListener extends AbstractRepositoryListener {
+
+    private final SortedSet<String> missing = new ConcurrentSkipListSet<>();
+
+    private static String toKey(final String groupId, final String artifactId, final String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    private void add(final RepositoryEvent event) {
+        final Artifact artifact = event.getArtifact();
+        if (artifact != null) {
+            this.missing.add(toKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+        }
+    }
+
+    @Override
+    public void artifactDescriptorMissing(final RepositoryEvent event) {
+        add(event);
+    }
+
+    @Override
+    public void artifactDescriptorInvalid(final RepositoryEvent event) {
+        add(event);
+    }
+
+    /**
+     * @param artifacts <code>groupId:artifactId:version</code> of artifacts
+     *                  which descriptors were missing in other collection,
+     *                  see {@link #getMissing(Collection)}.
+     */
+    public void addAll(final Collection<String> artifacts) {
+        this.missing.addAll(artifacts);
+    }
+
+    /**
+     * @return <code>true</code> if descriptor of the dependency was not found.
+     */
+    public boolean isMissing(final RuleDependency dependency) {
+        return this.missing.contains(
+                toKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
+    }
+
+    /**
+     * @return <code>groupId:artifactId:version</code> of provided dependencies
+     *         that do not have descriptor.
+     */
+    public Set<String> getMissing(final Collection<RuleDependency> dependencies) {
+        final Set<String> found = new TreeSet<>();
+        for (RuleDependency d : dependencies) {
+            final String key = toKey(d.getGroupId(), d.getArtifactId(), d.getVersion());
+            if (this.missing.contains(key)) {
+                found.add(key);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return <code>groupId:artifactId:version</code> of every artifact without
+     *         descriptor in alphabetical order.
+     */
+    public Set<String> getMissing() {
+        return Collections.unmodifiableSet(this.missing);
+    }
+}
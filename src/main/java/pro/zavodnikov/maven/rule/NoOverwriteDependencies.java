@@ -23,27 +23,60 @@
  */
 package pro.zavodnikov.maven.rule;
 
-import java.util.ArrayDeque;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.Queue;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.DefaultDependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionException;
+import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionException;
-import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy;
 
 /**
  * No Overwrite Dependencies rule.
@@ -51,6 +84,8 @@ import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 @Named("noOverwriteDependencies")
 public class NoOverwriteDependencies extends AbstractEnforcerRule {
 
+    private static final int MAX_REPORTED_VIOLATIONS = 100;
+
     @Inject
     private MavenProject project;
 
@@ -60,33 +95,375 @@ public class NoOverwriteDependencies extends AbstractEnforcerRule {
     @Inject
     private RepositorySystem repositorySystem;
 
-    private void debugPrint(final String message, final Collection<RuleDependency> deps) {
-        getLog().debug(message);
+    @Inject
+    private ProjectDependenciesResolver dependenciesResolver;
 
-        for (RuleDependency d : deps) {
-            getLog().debug("- " + d.toString());
+    /**
+     * Constructor for dependency injection.
+     */
+    public NoOverwriteDependencies() {
+    }
+
+    /**
+     * Constructor to run the rule without Maven, see
+     * {@link StandaloneRuleFactory}.
+     *
+     * @param dependenciesResolver resolver of project dependencies; can be
+     *                             <code>null</code> if
+     *                             {@link CollectionMode#PROJECT} mode is not
+     *                             used.
+     */
+    public NoOverwriteDependencies(final MavenProject project, final MavenSession session,
+            final RepositorySystem repositorySystem, final ProjectDependenciesResolver dependenciesResolver) {
+        this.project = Check.notNull(project, "Project should not be null");
+        this.session = Check.notNull(session, "Session should not be null");
+        this.repositorySystem = Check.notNull(repositorySystem, "Repository system should not be null");
+        this.dependenciesResolver = dependenciesResolver;
+    }
+
+    private CollectionMode collectionMode = CollectionMode.PER_ROOT;
+
+    /**
+     * @param collectionMode how transitive dependencies of Dependency Management
+     *                       should be collected. See {@link CollectionMode}.
+     */
+    public void setCollectionMode(final CollectionMode collectionMode) {
+        this.collectionMode = Check.notNull(collectionMode, "Collection mode should not be null");
+    }
+
+    private boolean offline = false;
+
+    /**
+     * @param offline collect transitive dependencies from local repository only,
+     *                without access to remote repositories.
+     */
+    public void setOffline(final boolean offline) {
+        this.offline = offline;
+    }
+
+    private MissingDescriptorPolicy missingDescriptorPolicy;
+
+    /**
+     * @param missingDescriptorPolicy what to do when POM of a dependency can not
+     *                                be found. See
+     *                                {@link MissingDescriptorPolicy}. If it is
+     *                                not set, such POM fails collection as in
+     *                                repository session of Maven, in offline
+     *                                mode it is reported as warning.
+     */
+    public void setMissingDescriptorPolicy(final MissingDescriptorPolicy missingDescriptorPolicy) {
+        this.missingDescriptorPolicy = Check.notNull(missingDescriptorPolicy,
+                "Missing descriptor policy should not be null");
+    }
+
+    private MissingDescriptorPolicy getMissingDescriptorPolicy() {
+        if (this.missingDescriptorPolicy != null) {
+            return this.missingDescriptorPolicy;
         }
+        return this.offline ? MissingDescriptorPolicy.WARN : null;
+    }
+
+    private VersionComparison versionComparison = VersionComparison.STRING;
+
+    /**
+     * @param versionComparison how version of project dependency is compared
+     *                          with version of managed one. See
+     *                          {@link VersionComparison}.
+     */
+    public void setVersionComparison(final VersionComparison versionComparison) {
+        this.versionComparison = Check.notNull(versionComparison, "Version comparison should not be null");
     }
 
-    private boolean isSameArtifact(final RuleDependency projDep, final RuleDependency depManDep) {
-        return Objects.equals(projDep.getGroupId(), depManDep.getGroupId())
-                && Objects.equals(projDep.getArtifactId(), depManDep.getArtifactId());
+    private boolean scopeMediation = false;
+
+    /**
+     * @param scopeMediation derive scopes of transitive dependencies from scope
+     *                       of the managed dependency that brings them, see
+     *                       {@link ScopeMediation}.
+     */
+    public void setScopeMediation(final boolean scopeMediation) {
+        this.scopeMediation = scopeMediation;
     }
 
-    private boolean isDifferentVersions(final RuleDependency projDep, final RuleDependency depManDep) {
-        if (projDep.getVersion() == null) { // Do not overwrite the version.
-            return false;
+    private boolean jvmCache = false;
+
+    /**
+     * @param jvmCache keep transitive dependencies of every managed dependency
+     *                 in memory of JVM after the build, so next builds in the
+     *                 same JVM (Maven Daemon) reuse them.
+     */
+    public void setJvmCache(final boolean jvmCache) {
+        this.jvmCache = jvmCache;
+    }
+
+    private int jvmCacheMaxEntries = JvmClosureCache.DEFAULT_MAX_ENTRIES;
+
+    /**
+     * @param jvmCacheMaxEntries maximum number of transitive dependency lists in
+     *                           JVM cache.
+     */
+    public void setJvmCacheMaxEntries(final int jvmCacheMaxEntries) {
+        this.jvmCacheMaxEntries = jvmCacheMaxEntries;
+    }
+
+    private long jvmCacheMaxBytes = JvmClosureCache.DEFAULT_MAX_BYTES;
+
+    /**
+     * @param jvmCacheMaxBytes maximum estimated size of JVM cache in bytes.
+     */
+    public void setJvmCacheMaxBytes(final long jvmCacheMaxBytes) {
+        this.jvmCacheMaxBytes = jvmCacheMaxBytes;
+    }
+
+    private boolean persistentCache = false;
+
+    /**
+     * @param persistentCache store transitive dependencies of every managed
+     *                        dependency on disk and reuse them in next builds.
+     *                        Used by {@link CollectionMode#PER_ROOT} mode and
+     *                        by {@link CollectionMode#DESCRIPTOR} mode for POM
+     *                        files it collects by resolver.
+     */
+    public void setPersistentCache(final boolean persistentCache) {
+        this.persistentCache = persistentCache;
+    }
+
+    private File persistentCacheDirectory;
+
+    /**
+     * @param persistentCacheDirectory directory of persistent cache. By default it
+     *                                 is <code>.cache/no-overwrite-dependencies</code>
+     *                                 inside of local repository.
+     */
+    public void setPersistentCacheDirectory(final File persistentCacheDirectory) {
+        this.persistentCacheDirectory = persistentCacheDirectory;
+    }
+
+    private boolean sessionCache = true;
+
+    /**
+     * @param sessionCache share transitive dependencies between all modules of
+     *                     the build.
+     */
+    public void setSessionCache(final boolean sessionCache) {
+        this.sessionCache = sessionCache;
+    }
+
+    private int parallelism = 1;
+
+    /**
+     * @param parallelism maximum number of managed dependencies that are
+     *                    collected at the same time in
+     *                    {@link CollectionMode#PER_ROOT} and
+     *                    {@link CollectionMode#DESCRIPTOR} modes.
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
         }
-        return isSameArtifact(projDep, depManDep)
-                && !Objects.equals(projDep.getVersion(), depManDep.getVersion());
+        this.parallelism = parallelism;
     }
 
-    private boolean isDifferentScopes(final RuleDependency projDep, final RuleDependency depManDep) {
-        if (projDep.getScope() == null) { // Do not overwrite the scope.
-            return false;
+    private boolean internDependencies = true;
+
+    /**
+     * @param internDependencies share one instance between equal dependencies
+     *                           of the whole build.
+     */
+    public void setInternDependencies(final boolean internDependencies) {
+        this.internDependencies = internDependencies;
+    }
+
+    private boolean demandDriven = false;
+
+    /**
+     * @param demandDriven check only project dependencies that declare version
+     *                     or scope and stop collection of transitive
+     *                     dependencies when all of them are found. Only first
+     *                     found version of every such dependency is compared.
+     *                     Collection is stopped early in
+     *                     {@link CollectionMode#PER_ROOT} and
+     *                     {@link CollectionMode#DESCRIPTOR} modes only.
+     */
+    public void setDemandDriven(final boolean demandDriven) {
+        this.demandDriven = demandDriven;
+    }
+
+    private int maxViolations = 0;
+
+    /**
+     * @param maxViolations stop collection and matching when this number of
+     *                      violations is found. <code>1</code> fails on the
+     *                      first violation, <code>0</code> finds all of them.
+     *                      Collection is stopped early in
+     *                      {@link CollectionMode#PER_ROOT} and
+     *                      {@link CollectionMode#DESCRIPTOR} modes only.
+     */
+    public void setMaxViolations(final int maxViolations) {
+        if (maxViolations < 0) {
+            throw new IllegalArgumentException("Max violations should not be negative");
+        }
+        this.maxViolations = maxViolations;
+    }
+
+    private long rootTimeout = 0;
+
+    /**
+     * @param rootTimeout maximum time in milliseconds of collection of
+     *                    transitive dependencies of one managed dependency (of
+     *                    whole Dependency Management in
+     *                    {@link CollectionMode#BATCH} and
+     *                    {@link CollectionMode#PROJECT} modes),
+     *                    <code>0</code> means no limit.
+     */
+    public void setRootTimeout(final long rootTimeout) {
+        if (rootTimeout < 0) {
+            throw new IllegalArgumentException("Root timeout should not be negative");
+        }
+        this.rootTimeout = rootTimeout;
+    }
+
+    private long timeBudget = 0;
+
+    /**
+     * @param timeBudget maximum time in milliseconds of collection of
+     *                   transitive dependencies by the rule, <code>0</code>
+     *                   means no limit.
+     */
+    public void setTimeBudget(final long timeBudget) {
+        if (timeBudget < 0) {
+            throw new IllegalArgumentException("Time budget should not be negative");
+        }
+        this.timeBudget = timeBudget;
+    }
+
+    private LongSupplier clock = System::nanoTime;
+
+    /**
+     * @param clock source of time in nanoseconds for {@link #setTimeBudget(long)};
+     *              replaced by tests.
+     */
+    void setClock(final LongSupplier clock) {
+        this.clock = Check.notNull(clock, "Clock should not be null");
+    }
+
+    private BudgetPolicy budgetPolicy = BudgetPolicy.FAIL;
+
+    /**
+     * @param budgetPolicy what to do when collection does not finish in time,
+     *                     see {@link BudgetPolicy}.
+     */
+    public void setBudgetPolicy(final BudgetPolicy budgetPolicy) {
+        this.budgetPolicy = Check.notNull(budgetPolicy, "Budget policy should not be null");
+    }
+
+    private boolean publishClosureIndex = false;
+
+    /**
+     * @param publishClosureIndex write closure of Dependency Management to
+     *                            build directory and attach it to the project
+     *                            as secondary artifact, so modules read it
+     *                            with {@link #setUseClosureIndex(boolean)}.
+     *                            Check is executed even when project does not
+     *                            have dependencies and incremental execution is
+     *                            not used.
+     */
+    public void setPublishClosureIndex(final boolean publishClosureIndex) {
+        this.publishClosureIndex = publishClosureIndex;
+    }
+
+    private boolean useClosureIndex = false;
+
+    /**
+     * @param useClosureIndex read closure of Dependency Management from index
+     *                        that is published by parent project. Closure is
+     *                        collected if index is missing or was built for
+     *                        other Dependency Management.
+     */
+    public void setUseClosureIndex(final boolean useClosureIndex) {
+        this.useClosureIndex = useClosureIndex;
+    }
+
+    private boolean incremental = false;
+
+    /**
+     * @param incremental skip the check and reuse result of previous execution
+     *                    if project dependencies, Dependency Management,
+     *                    repositories and used POM files were not changed.
+     */
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    private File incrementalStateFile;
+
+    /**
+     * @param incrementalStateFile where result of previous execution is stored.
+     *                             By default it is
+     *                             <code>no-overwrite-dependencies.state</code>
+     *                             inside of build directory.
+     */
+    public void setIncrementalStateFile(final File incrementalStateFile) {
+        this.incrementalStateFile = incrementalStateFile;
+    }
+
+    private boolean metrics = false;
+
+    /**
+     * @param metrics print summary of timings and counters of the rule.
+     */
+    public void setMetrics(final boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    private File metricsFile;
+
+    /**
+     * @param metricsFile where timings and counters of the rule are written in
+     *                    JSON format.
+     */
+    public void setMetricsFile(final File metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
+    private RuleMetrics ruleMetrics;
+
+    /**
+     * @return timings and counters of the last execution.
+     */
+    public RuleMetrics getMetrics() {
+        return this.ruleMetrics;
+    }
+
+    private JvmClosureCache jvmClosureCache;
+
+    private PersistentClosureCache closureCache;
+
+    private SessionClosureCache sharedCache;
+
+    private RuleDependencyPool dependencyPool;
+
+    private RepositorySystemSession collectSession;
+
+    private DescriptorReader descriptorReader;
+
+    private MissingDescriptorListener missingDescriptors;
+
+    private TimeBudget budget;
+
+    private Set<String> unevaluated;
+
+    private void debugPrint(final String message, final Collection<RuleDependency> deps) {
+        getLog().debug(message);
+
+        for (RuleDependency d : deps) {
+            getLog().debug("- " + d.toString());
         }
-        return isSameArtifact(projDep, depManDep)
-                && !Objects.equals(projDep.getScope(), depManDep.getScope());
+    }
+
+    private RuleDependency toRuleDependency(final org.eclipse.aether.graph.Dependency dependency) {
+        final RuleDependency ruleDependency = new RuleDependency(dependency);
+        return this.dependencyPool != null ? this.dependencyPool.intern(ruleDependency) : ruleDependency;
     }
 
     /*
@@ -97,47 +474,876 @@ public class NoOverwriteDependencies extends AbstractEnforcerRule {
      */
     private List<RuleDependency> collectDependencies(final RuleDependency root) {
         try {
-            final CollectRequest request = new CollectRequest(root.getGraphDependency(),
-                    this.session.getCurrentProject().getRemoteProjectRepositories());
-            final CollectResult result = this.repositorySystem.collectDependencies(
-                    this.session.getRepositorySession(), request);
-
-            final PreorderNodeListGenerator nodeListGenerator = new PreorderNodeListGenerator();
-            result.getRoot().accept(nodeListGenerator);
-            return nodeListGenerator.getDependencies(true).stream()
-                    .map(RuleDependency::new)
-                    .filter(d -> !root.equals(d))
-                    .collect(Collectors.toList());
+            final long start = System.nanoTime();
+            final RuleEvents.Event event = RuleEvents.get().beginCollect();
+            final CollectRequest request = new CollectRequest(root.getGraphDependency(), getRemoteRepositories());
+            final CollectResult result = this.repositorySystem.collectDependencies(this.collectSession, request);
+
+            final ClosureVisitor visitor = new ClosureVisitor(this::toRuleDependency, root);
+            result.getRoot().accept(visitor);
+            final List<RuleDependency> closure = visitor.getDependencies();
+            this.ruleMetrics.collected(root.toString(), System.nanoTime() - start, closure.size());
+            event.commit(root.toString(), closure.size());
+            return closure;
+        } catch (DependencyCollectionException e) {
+            throw new CollectionException(
+                    "Can not collect transitive dependencies of " + root + ": " + e.getMessage(), e);
+        }
+    }
+
+    private List<RemoteRepository> getRemoteRepositories() {
+        if (this.offline) {
+            return Collections.emptyList();
+        }
+        return Check.defaultValue(this.session.getCurrentProject().getRemoteProjectRepositories(),
+                Collections.emptyList());
+    }
+
+    private File getLocalRepository() {
+        return this.session.getRepositorySession().getLocalRepository().getBasedir();
+    }
+
+    /*
+     * When policy for missing descriptors is used, they are ignored by resolver
+     * and then handled by the policy, so collection itself does not fail
+     * because of them. Otherwise descriptor policy of Maven is kept.
+     */
+    private RepositorySystemSession newCollectSession() {
+        final DefaultRepositorySystemSession collectSession = new DefaultRepositorySystemSession(
+                this.session.getRepositorySession());
+        if (this.offline) {
+            collectSession.setOffline(true);
+        }
+        if (getMissingDescriptorPolicy() != null) {
+            collectSession.setArtifactDescriptorPolicy(new SimpleArtifactDescriptorPolicy(true, true));
+        }
+        collectSession.setRepositoryListener(
+                ChainedRepositoryListener.newInstance(collectSession.getRepositoryListener(),
+                        this.missingDescriptors));
+        return collectSession;
+    }
+
+    private void checkMissingDescriptors() throws EnforcerRuleException {
+        final Set<String> missing = this.missingDescriptors.getMissing();
+        final MissingDescriptorPolicy policy = getMissingDescriptorPolicy();
+        if (missing.isEmpty() || policy == null || policy == MissingDescriptorPolicy.IGNORE) {
+            return;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Descriptors of following dependencies are not found or invalid")
+                .append(this.offline ? " in local repository" : "")
+                .append(", their transitive dependencies are not checked:\n");
+        for (String artifact : missing) {
+            sb.append(" - ").append(artifact).append("\n");
+        }
+
+        if (policy == MissingDescriptorPolicy.FAIL) {
+            throw new EnforcerRuleException(sb.toString());
+        }
+        getLog().warn(sb.toString());
+    }
+
+    private PersistentClosureCache initClosureCache() {
+        if (!this.persistentCache) {
+            return null;
+        }
+        final File directory = Check.defaultValue(this.persistentCacheDirectory,
+                new File(getLocalRepository(), ".cache/no-overwrite-dependencies"));
+        return new PersistentClosureCache(directory, getLocalRepository());
+    }
+
+    /*
+     * Same coordinates can have different transitive dependencies in different
+     * repositories, so repositories are part of the key.
+     */
+    private String getClosureKey(final Collection<RuleDependency> roots) {
+        final StringBuilder sb = new StringBuilder();
+        for (RuleDependency root : roots) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(root.toString());
+        }
+        for (RemoteRepository repository : getRemoteRepositories()) {
+            sb.append('|').append(repository.getId()).append('=').append(repository.getUrl());
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Transitive dependencies of a POM depend on its parents and imported BOMs
+     * too, so all of them are stamped.
+     */
+    private Set<File> getPomFiles(final Collection<RuleDependency> deps) {
+        final DescriptorReader reader = DescriptorReader.of(this.session.getRepositorySession());
+        final Set<File> poms = new HashSet<>();
+        for (RuleDependency d : deps) {
+            poms.addAll(reader.getPomChain(d.getGroupId(), d.getArtifactId(), d.getVersion()));
+        }
+        return poms;
+    }
+
+    /*
+     * Scope of the root does not change its collected transitive dependencies,
+     * so all scopes of the same artifact share one entry of caches.
+     */
+    private List<RuleDependency> transitiveDependencies(final RuleDependency root) {
+        final String key = getClosureKey(Collections.singletonList(root.withScope(null)));
+        if (this.sharedCache == null) {
+            return loadTransitiveDependencies(root, key);
+        }
+        return getShared(key, Collections.singletonList(root), () -> loadTransitiveDependencies(root, key));
+    }
+
+    /*
+     * Closure that was collected by other module can be incomplete, so its
+     * missing descriptors are reported by every module that reuses it.
+     * Waiting for other module is limited by the time budget and stopped by
+     * timeout of the root, then closure is not evaluated.
+     */
+    private List<RuleDependency> getShared(final String key, final Collection<RuleDependency> roots,
+            final Supplier<List<RuleDependency>> loader) {
+        final AtomicBoolean loaded = new AtomicBoolean();
+        final SessionClosureCache.Entry entry = this.sharedCache.get(key, () -> {
+            loaded.set(true);
+            final List<RuleDependency> closure = loader.get();
+            final List<RuleDependency> deps = new ArrayList<>(closure);
+            deps.addAll(roots);
+            return new SessionClosureCache.Entry(closure, this.missingDescriptors.getMissing(deps));
+        }, this.budget);
+        if (entry == null) {
+            return null;
+        }
+        this.ruleMetrics.sessionCache(!loaded.get());
+        if (!loaded.get()) {
+            this.missingDescriptors.addAll(entry.getMissing());
+        }
+        return entry.getClosure();
+    }
+
+    /*
+     * Collection that is out of time is interrupted and can be stopped in the
+     * middle, so its result is not stored by caches.
+     */
+    private static boolean isCancelled() {
+        return Thread.currentThread().isInterrupted();
+    }
+
+    /*
+     * Local repository is part of the key, because JVM cache is shared by
+     * builds with different settings.
+     */
+    private List<RuleDependency> loadTransitiveDependencies(final RuleDependency root, final String key) {
+        if (this.jvmClosureCache == null) {
+            return loadPersistentTransitiveDependencies(root, key);
+        }
+
+        final String jvmKey = getLocalRepository().getAbsolutePath() + "|" + key;
+        final List<RuleDependency> cached = this.jvmClosureCache.get(jvmKey);
+        this.ruleMetrics.jvmCache(cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<RuleDependency> closure = loadPersistentTransitiveDependencies(root, key);
+        final List<RuleDependency> deps = new ArrayList<>(closure);
+        deps.add(root);
+        if (!isCancelled() && deps.stream().noneMatch(this.missingDescriptors::isMissing)) {
+            this.jvmClosureCache.put(jvmKey, closure, getPomFiles(deps));
+        }
+        return closure;
+    }
+
+    private List<RuleDependency> loadPersistentTransitiveDependencies(final RuleDependency root,
+            final String key) {
+        if (this.closureCache == null) {
+            return collectDependencies(root);
+        }
+
+        try {
+            final List<RuleDependency> cached = this.closureCache.get(key);
+            this.ruleMetrics.persistentCache(cached != null);
+            if (cached != null) {
+                if (this.dependencyPool != null) {
+                    cached.replaceAll(this.dependencyPool::intern);
+                }
+                return cached;
+            }
+        } catch (IOException e) {
+            getLog().warn("Can not read persistent cache: " + e.getMessage());
+        }
+
+        final List<RuleDependency> closure = collectDependencies(root);
+        final List<RuleDependency> deps = new ArrayList<>(closure);
+        deps.add(root);
+        if (isCancelled() || deps.stream().anyMatch(this.missingDescriptors::isMissing)) {
+            return closure; // Incomplete closure should not be reused.
+        }
+        try {
+            this.closureCache.put(key, closure, getPomFiles(deps));
+        } catch (IOException e) {
+            getLog().warn("Can not write persistent cache: " + e.getMessage());
+        }
+        return closure;
+    }
+
+    /*
+     * All managed dependencies are direct dependencies of one request, so every
+     * shared sub-graph is collected and walked only once. They are requested
+     * without scope and management starts one level deeper, so every sub-graph
+     * gets the same scopes and management as with its own request. Nodes that
+     * lose version mediation between different roots are kept by verbose
+     * conflict resolution, but without their own transitive dependencies.
+     */
+    private List<RuleDependency> collectDependencies(final List<RuleDependency> roots) {
+        try {
+            final long start = System.nanoTime();
+            final RuleEvents.Event event = RuleEvents.get().beginCollect();
+            final DefaultRepositorySystemSession verboseSession = new DefaultRepositorySystemSession(
+                    this.collectSession);
+            verboseSession.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+            if (this.collectSession.getDependencyManager() != null) {
+                verboseSession.setDependencyManager(
+                        new BatchDependencyManager(this.collectSession.getDependencyManager()));
+            }
+
+            final CollectRequest request = new CollectRequest(
+                    roots.stream().map(d -> d.withScope(null).getGraphDependency()).collect(Collectors.toList()),
+                    null,
+                    getRemoteRepositories());
+            final CollectResult result = this.repositorySystem.collectDependencies(verboseSession, request);
+
+            final ClosureVisitor visitor = new ClosureVisitor(this::toRuleDependency, null);
+            for (DependencyNode rootNode : result.getRoot().getChildren()) { // Managed dependencies itself.
+                rootNode.getChildren().forEach(n -> n.accept(visitor));
+            }
+            final List<RuleDependency> closure = visitor.getDependencies();
+            this.ruleMetrics.collected(roots.size() + " managed dependencies", System.nanoTime() - start,
+                    closure.size());
+            event.commit(roots.size() + " managed dependencies", closure.size());
+            return closure;
         } catch (DependencyCollectionException e) {
-            throw new RuntimeException(e);
+            throw new CollectionException(
+                    "Can not collect transitive dependencies of Dependency Management: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Every found dependency is expanded by itself, so direct dependencies are
+     * enough to walk the whole closure. Dependency Management and exclusions of
+     * dependents are not applied, see DescriptorReader.
+     */
+    private List<RuleDependency> readDependencies(final RuleDependency root) {
+        final List<RuleDependency> deps = this.descriptorReader.getDependencies(root);
+        if (deps == null) {
+            getLog().debug("Can not read descriptor of " + root + ", collect it by resolver");
+            return transitiveDependencies(root);
+        }
+        if (this.dependencyPool == null) {
+            return deps;
+        }
+        return deps.stream().map(this.dependencyPool::intern).collect(Collectors.toList());
+    }
+
+    /*
+     * Transitive dependencies are collected once for every scope of the root, so
+     * by default they keep scopes declared in POM of the root. With scope
+     * mediation they are derived from scope of the root the same way as Maven
+     * does.
+     */
+    private List<RuleDependency> deriveScopes(final String rootScope, final List<RuleDependency> transitiveDeps) {
+        if (!this.scopeMediation || rootScope.isEmpty() || "compile".equals(rootScope)) {
+            return transitiveDeps;
+        }
+        final List<RuleDependency> derived = new ArrayList<>(transitiveDeps.size());
+        for (RuleDependency d : transitiveDeps) {
+            final RuleDependency withScope = d.withScope(ScopeMediation.derive(rootScope, d.getScope()));
+            derived.add(withScope != d && this.dependencyPool != null
+                    ? this.dependencyPool.intern(withScope)
+                    : withScope);
+        }
+        return derived;
+    }
+
+    private boolean isTimed() {
+        return this.rootTimeout > 0 || this.timeBudget > 0;
+    }
+
+    /**
+     * @return results in the same order as items, <code>null</code> for items
+     *         that were not finished in time.
+     */
+    private <T, R> List<R> map(final ParallelExecutor executor, final List<T> items, final Function<T, R> function) {
+        if (!isTimed()) {
+            return executor.map(items, function);
+        }
+        return executor.map(items, function, TimeUnit.MILLISECONDS.toNanos(this.rootTimeout), this.budget);
+    }
+
+    /**
+     * @return result or <code>null</code> if it was not finished in time.
+     */
+    private <R> R call(final Supplier<R> supplier) {
+        try (ParallelExecutor executor = new ParallelExecutor(1)) {
+            return map(executor, Collections.singletonList(supplier), Supplier::get).get(0);
+        }
+    }
+
+    private void checkUnevaluated() throws EnforcerRuleException {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Collection did not finish in time (root timeout ").append(this.rootTimeout)
+                .append(" ms, time budget ").append(this.timeBudget)
+                .append(" ms), transitive dependencies of following dependencies are not checked:\n");
+        for (String root : this.unevaluated) {
+            sb.append(" - ").append(root).append("\n");
+        }
+
+        if (this.budgetPolicy == BudgetPolicy.FAIL) {
+            throw new EnforcerRuleException(sb.toString());
+        }
+        if (this.budgetPolicy == BudgetPolicy.WARN) {
+            sb.append("Check is skipped\n");
+        }
+        getLog().warn(sb.toString());
+    }
+
+    /*
+     * Breadth-first search that processes one level at a time. Dependencies of
+     * the level are collected in parallel, but results are merged in the order
+     * of the level, so the order of found dependencies is the same as for
+     * sequential processing. Every POM is expanded only once, whatever scopes,
+     * types and classifiers its artifact is found with, and the result is
+     * projected onto scope of every variant.
+     */
+    private Collection<RuleDependency> collectPerRoot(final List<RuleDependency> roots,
+            final Set<String> wantedKeys, final ViolationCollector violationCollector) {
+        final Collection<RuleDependency> depManDeps = new LinkedHashSet<>();
+        final Set<String> notFoundKeys = wantedKeys != null ? new HashSet<>(wantedKeys) : null;
+        final Map<String, List<RuleDependency>> expanded = new HashMap<>();
+
+        try (ParallelExecutor executor = new ParallelExecutor(this.parallelism)) {
+            List<RuleDependency> level = roots;
+            while (!level.isEmpty()) {
+                final List<RuleDependency> toCollect = new ArrayList<>();
+                for (RuleDependency current : level) {
+                    if (depManDeps.add(current)) {
+                        toCollect.add(current);
+                        if (notFoundKeys != null) {
+                            notFoundKeys.remove(current.getArtifactKey());
+                        }
+                        if (violationCollector != null && violationCollector.add(current)) {
+                            break;
+                        }
+                    }
+                }
+                if (violationCollector != null && violationCollector.isFull()) {
+                    getLog().debug("Limit of violations is reached, stop collection");
+                    break;
+                }
+                if (notFoundKeys != null && notFoundKeys.isEmpty()) {
+                    getLog().debug("All declared project dependencies are found, stop collection");
+                    break;
+                }
+
+                final Map<String, RuleDependency> toExpand = new LinkedHashMap<>();
+                for (RuleDependency current : toCollect) {
+                    final String key = current.getDescriptorKey();
+                    if (!expanded.containsKey(key)) {
+                        toExpand.computeIfAbsent(key, k -> current.toDescriptorRoot());
+                    }
+                }
+                final List<List<RuleDependency>> collected = map(executor, new ArrayList<>(toExpand.values()),
+                        this.descriptorReader != null ? this::readDependencies : this::transitiveDependencies);
+                int i = 0;
+                for (Map.Entry<String, RuleDependency> entry : toExpand.entrySet()) {
+                    List<RuleDependency> transitiveDeps = collected.get(i++);
+                    if (transitiveDeps == null) {
+                        this.unevaluated.add(entry.getValue().toString());
+                        transitiveDeps = Collections.emptyList();
+                    }
+                    expanded.put(entry.getKey(), transitiveDeps);
+                }
+
+                level = new ArrayList<>();
+                for (RuleDependency current : toCollect) {
+                    final List<RuleDependency> transitiveDeps = deriveScopes(current.getScope(),
+                            expanded.get(current.getDescriptorKey()));
+                    if (getLog().isDebugEnabled()) {
+                        debugPrint("Transitive dependencies of " + current.toString() + ":", transitiveDeps);
+                    }
+                    for (RuleDependency d : transitiveDeps) {
+                        if (!depManDeps.contains(d)) { // Next level holds only new dependencies.
+                            level.add(d);
+                        }
+                    }
+                }
+            }
+        }
+        return depManDeps;
+    }
+
+    private Collection<RuleDependency> collectBatch(final List<RuleDependency> roots) {
+        final Collection<RuleDependency> depManDeps = new LinkedHashSet<>(roots);
+        if (roots.isEmpty()) {
+            return depManDeps;
+        }
+
+        final List<RuleDependency> transitiveDeps = call(() -> {
+            if (this.sharedCache == null) {
+                return collectDependencies(roots);
+            }
+            return getShared(getClosureKey(roots), roots, () -> collectDependencies(roots));
+        });
+        if (transitiveDeps == null) {
+            roots.forEach(d -> this.unevaluated.add(d.toString()));
+            return depManDeps;
+        }
+        if (getLog().isDebugEnabled()) {
+            debugPrint("Transitive dependencies of Dependencies Management:", transitiveDeps);
+        }
+        depManDeps.addAll(transitiveDeps);
+        return depManDeps;
+    }
+
+    private DependencyNode resolveProjectGraph() {
+        final DefaultRepositorySystemSession verboseSession = new DefaultRepositorySystemSession(
+                this.collectSession);
+        verboseSession.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+        verboseSession.setConfigProperty(DependencyManagerUtils.CONFIG_PROP_VERBOSE, true);
+
+        final DefaultDependencyResolutionRequest request = new DefaultDependencyResolutionRequest(this.project,
+                verboseSession);
+        request.setResolutionFilter((node, parents) -> false); // Only graph is required, not files.
+
+        DependencyResolutionResult result;
+        try {
+            result = this.dependenciesResolver.resolve(request);
+        } catch (DependencyResolutionException e) {
+            result = e.getResult();
+            if (result == null || result.getDependencyGraph() == null) {
+                throw new CollectionException(
+                        "Can not resolve dependencies of " + this.project.getId() + ": " + e.getMessage(), e);
+            }
+        }
+        return result.getDependencyGraph();
+    }
+
+    /*
+     * Maven have already applied Dependency Management to the graph of the
+     * project, so transitive dependencies of managed ones are taken with
+     * versions and scopes they had before management. Collector shares nodes
+     * between parents, so node that was visited only outside of managed
+     * dependencies is visited again when managed parent reaches it.
+     */
+    static void addManagedTransitive(final DependencyNode node, final boolean underManaged,
+            final Set<String> managedKeys, final Function<org.eclipse.aether.graph.Dependency, RuleDependency> converter,
+            final Collection<RuleDependency> depManDeps, final Map<DependencyNode, Boolean> visited) {
+        final Boolean visitedManaged = visited.get(node);
+        if (visitedManaged != null && (visitedManaged || !underManaged)) {
+            return;
+        }
+        visited.put(node, underManaged);
+
+        boolean managed = underManaged;
+        final org.eclipse.aether.graph.Dependency dependency = node.getDependency();
+        if (dependency != null) {
+            if (underManaged) {
+                final String version = DependencyManagerUtils.getPremanagedVersion(node);
+                final String scope = DependencyManagerUtils.getPremanagedScope(node);
+                depManDeps.add(converter.apply(new org.eclipse.aether.graph.Dependency(
+                        version != null ? dependency.getArtifact().setVersion(version) : dependency.getArtifact(),
+                        scope != null ? scope : dependency.getScope())));
+            }
+            final org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
+            managed |= managedKeys.contains(artifact.getGroupId() + ":" + artifact.getArtifactId());
+        }
+
+        for (DependencyNode child : node.getChildren()) {
+            addManagedTransitive(child, managed, managedKeys, converter, depManDeps, visited);
+        }
+    }
+
+    private Collection<RuleDependency> collectFromProject(final List<RuleDependency> roots) {
+        final Collection<RuleDependency> depManDeps = new LinkedHashSet<>(roots);
+        if (roots.isEmpty()) {
+            return depManDeps;
+        }
+
+        final Set<String> managedKeys = new HashSet<>();
+        for (RuleDependency root : roots) {
+            managedKeys.add(root.getArtifactKey());
+        }
+
+        final long start = System.nanoTime();
+        final RuleEvents.Event event = RuleEvents.get().beginCollect();
+        final DependencyNode graph = call(this::resolveProjectGraph);
+        if (graph == null) {
+            roots.forEach(d -> this.unevaluated.add(d.toString()));
+            return depManDeps;
+        }
+        final Map<DependencyNode, Boolean> visited = new IdentityHashMap<>();
+        addManagedTransitive(graph, false, managedKeys, this::toRuleDependency, depManDeps, visited);
+        this.ruleMetrics.collected(this.project.getId(), System.nanoTime() - start, visited.size());
+        event.commit(this.project.getId(), visited.size());
+        return depManDeps;
+    }
+
+    /*
+     * Only dependencies that declare version or scope in POM of the project can
+     * overwrite managed ones. Effective model already contains versions from
+     * Dependency Management, so original model is used when it is available.
+     */
+    private List<RuleDependency> getDeclaredDependencies(final List<RuleDependency> projDeps) {
+        final Model originalModel = this.project.getOriginalModel();
+        if (originalModel == null) {
+            return projDeps.stream()
+                    .filter(d -> !d.getVersion().isEmpty())
+                    .collect(Collectors.toList());
+        }
+
+        final Set<String> declaredKeys = new HashSet<>();
+        for (org.apache.maven.model.Dependency d : originalModel.getDependencies()) {
+            if (d.getVersion() != null || d.getScope() != null) {
+                declaredKeys.add(d.getGroupId() + ":" + d.getArtifactId());
+            }
+        }
+        return projDeps.stream()
+                .filter(d -> declaredKeys.contains(d.getArtifactKey()))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Modules with the same Dependency Management have the same closure, so
+     * its filter is built once per build. Closure of PROJECT mode depends on
+     * the project and closures of demand-driven mode or of collection that did
+     * not finish in time can be partial, so they are not shared.
+     */
+    private ArtifactKeyFilter getArtifactKeyFilter(final List<RuleDependency> roots,
+            final Collection<RuleDependency> depManDeps, final boolean complete) {
+        if (!this.sessionCache || !complete || this.collectionMode == CollectionMode.PROJECT) {
+            return null;
+        }
+        final String key = this.collectionMode + "|" + this.offline + "|" + getClosureKey(roots);
+        return ArtifactKeyFilterCache.of(this.session.getRepositorySession())
+                .get(key, () -> ArtifactKeyFilter.of(depManDeps));
+    }
+
+    /*
+     * Everything that can change closure of Dependency Management. Index is
+     * built on other machine, so POM files are compared by content and by path
+     * relative to local repository. Released POM files are not changed in
+     * repositories, so only POM files of managed dependencies and of snapshots
+     * of the closure are compared with their parents and imported BOMs, and
+     * check of the index does not read whole closure.
+     */
+    private String getClosureIndexFingerprint(final List<RuleDependency> roots,
+            final Collection<RuleDependency> closure) throws IOException {
+        final Fingerprint fingerprint = new Fingerprint();
+        fingerprint.add(this.collectionMode);
+        fingerprint.add(this.scopeMediation);
+        fingerprint.add(this.offline);
+        for (RemoteRepository repository : getRemoteRepositories()) {
+            fingerprint.add(repository.getId()).add(repository.getUrl());
+        }
+        fingerprint.add(roots.size());
+        for (RuleDependency d : roots) {
+            fingerprint.add(d);
+        }
+
+        final Path localRepository = getLocalRepository().toPath();
+        final Map<String, File> poms = new TreeMap<>();
+        final List<RuleDependency> stamped = new ArrayList<>(roots);
+        for (RuleDependency d : closure) {
+            if (d.getVersion() != null && ArtifactUtils.isSnapshot(d.getVersion())) {
+                stamped.add(d);
+            }
+        }
+        for (File pom : getPomFiles(stamped)) {
+            poms.put(localRepository.relativize(pom.toPath()).toString().replace(File.separatorChar, '/'), pom);
+        }
+        fingerprint.add(poms.size());
+        for (Map.Entry<String, File> pom : poms.entrySet()) {
+            fingerprint.add(pom.getKey()).addContent(pom.getValue());
+        }
+        return fingerprint.toHex();
+    }
+
+    /*
+     * Parent from the same reactor has the index attached during current
+     * build, otherwise it is resolved from repositories.
+     */
+    private ClosureIndex readParentClosureIndex() {
+        final Parent parent = this.project.getModel().getParent();
+        if (parent == null) {
+            return null;
+        }
+
+        final MavenProject parentProject = this.project.getParent();
+        if (parentProject != null) {
+            for (org.apache.maven.artifact.Artifact a : parentProject.getAttachedArtifacts()) {
+                if (ClosureIndex.TYPE.equals(a.getType()) && ClosureIndex.CLASSIFIER.equals(a.getClassifier())) {
+                    try {
+                        return ClosureIndex.read(a.getFile());
+                    } catch (IOException e) {
+                        getLog().debug("Can not read closure index of parent: " + e.getMessage());
+                        return null;
+                    }
+                }
+            }
+        }
+
+        final ArtifactRequest request = new ArtifactRequest(new DefaultArtifact(parent.getGroupId(),
+                parent.getArtifactId(), ClosureIndex.CLASSIFIER, ClosureIndex.TYPE, parent.getVersion()),
+                getRemoteRepositories(), null);
+        try {
+            return ClosureIndex.read(this.repositorySystem.resolveArtifact(this.collectSession, request)
+                    .getArtifact().getFile());
+        } catch (ArtifactResolutionException | IOException e) {
+            getLog().debug("Can not read closure index of parent: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isActual(final ClosureIndex closureIndex, final List<RuleDependency> roots) {
+        try {
+            return closureIndex.isActual(getClosureIndexFingerprint(roots, closureIndex.getDependencies()));
+        } catch (IOException e) {
+            getLog().debug("Can not check closure index of parent: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void publishClosureIndex(final List<RuleDependency> roots, final Collection<RuleDependency> depManDeps) {
+        final File file = new File(this.project.getBuild().getDirectory(), this.project.getArtifactId() + "-"
+                + this.project.getVersion() + "-" + ClosureIndex.CLASSIFIER + "." + ClosureIndex.TYPE);
+        try {
+            ClosureIndex.of(getClosureIndexFingerprint(roots, depManDeps), depManDeps).write(file);
+        } catch (IOException e) {
+            getLog().warn("Can not write closure index: " + e.getMessage());
+            return;
+        }
+
+        final org.apache.maven.artifact.Artifact artifact = new org.apache.maven.artifact.DefaultArtifact(
+                this.project.getGroupId(), this.project.getArtifactId(), this.project.getVersion(), null,
+                ClosureIndex.TYPE, ClosureIndex.CLASSIFIER, new DefaultArtifactHandler(ClosureIndex.TYPE));
+        artifact.setFile(file);
+        this.project.getAttachedArtifacts().removeIf(a -> a.getId().equals(artifact.getId()));
+        this.project.addAttachedArtifact(artifact);
+    }
+
+    private File getIncrementalStateFile() {
+        if (this.incrementalStateFile != null) {
+            return this.incrementalStateFile;
+        }
+        return new File(this.project.getBuild().getDirectory(), "no-overwrite-dependencies.state");
+    }
+
+    /*
+     * Everything that can change result of the rule: inputs of the project and
+     * configuration of the rule.
+     */
+    private String getInputsFingerprint(final List<RuleDependency> projDeps, final List<RuleDependency> roots) {
+        final Fingerprint fingerprint = new Fingerprint();
+        fingerprint.add(this.collectionMode);
+        fingerprint.add(this.demandDriven);
+        fingerprint.add(this.maxViolations);
+        fingerprint.add(this.versionComparison);
+        fingerprint.add(this.scopeMediation);
+        fingerprint.add(this.offline);
+        fingerprint.add(getMissingDescriptorPolicy());
+        fingerprint.add(getLocalRepository().getAbsolutePath());
+        for (RemoteRepository repository : getRemoteRepositories()) {
+            fingerprint.add(repository.getId()).add(repository.getUrl());
+        }
+        fingerprint.add(projDeps.size());
+        for (RuleDependency d : projDeps) {
+            fingerprint.add(d);
+        }
+        fingerprint.add(roots.size());
+        for (RuleDependency d : roots) {
+            fingerprint.add(d);
+        }
+        return fingerprint.toHex();
+    }
+
+    private IncrementalState readIncrementalState() {
+        try {
+            return IncrementalState.read(getIncrementalStateFile());
+        } catch (IOException e) {
+            getLog().warn("Can not read incremental state: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeIncrementalState(final String fingerprint, final String failure,
+            final Collection<RuleDependency> depManDeps) {
+        try {
+            IncrementalState.of(fingerprint, failure, getPomFiles(depManDeps)).write(getIncrementalStateFile());
+        } catch (IOException e) {
+            getLog().warn("Can not write incremental state: " + e.getMessage());
+        }
+    }
+
+    private void reportMetrics() {
+        if (this.metrics) {
+            getLog().info(this.ruleMetrics.toSummary());
+        }
+        if (this.metricsFile != null) {
+            try {
+                this.ruleMetrics.writeJson(this.metricsFile, 10);
+            } catch (IOException e) {
+                getLog().warn("Can not write metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    private String getFailureMessage(final List<Violation> violations) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Following dependencies try to overwrite dependencies from parent POM:");
+        sb.append("\n");
+        final int reported = Math.min(violations.size(), MAX_REPORTED_VIOLATIONS);
+        for (int i = 0; i < reported; ++i) {
+            sb.append(" - ");
+            sb.append(violations.get(i).getMessage());
+            sb.append("\n");
+        }
+        if (reported < violations.size()) {
+            sb.append(" - ... and ").append(violations.size() - reported).append(" more\n");
+        }
+        if (this.maxViolations > 0 && violations.size() >= this.maxViolations) {
+            sb.append("Check was stopped after ").append(this.maxViolations).append(" violations\n");
+        }
+        return sb.toString();
+    }
+
+    private Collection<RuleDependency> collect(final List<RuleDependency> roots, final Set<String> wantedKeys,
+            final ViolationCollector violationCollector) {
+        switch (this.collectionMode) {
+            case BATCH:
+                return collectBatch(roots);
+            case PROJECT:
+                return collectFromProject(roots);
+            case PER_ROOT:
+            case DESCRIPTOR:
+            default:
+                return collectPerRoot(roots, wantedKeys, violationCollector);
         }
     }
 
     @Override
     public void execute() throws EnforcerRuleException {
+        this.ruleMetrics = new RuleMetrics();
+        final long start = System.nanoTime();
+        try {
+            check();
+        } catch (CollectionException e) {
+            throw new EnforcerRuleException(e.getMessage(), e);
+        } finally {
+            this.ruleMetrics.phase("total", System.nanoTime() - start);
+            reportMetrics();
+        }
+    }
+
+    private void check() throws EnforcerRuleException {
+        if (this.collectionMode == CollectionMode.PROJECT && this.dependenciesResolver == null) {
+            throw new EnforcerRuleException("PROJECT collection mode requires project dependencies resolver of Maven");
+        }
+
         final DependencyManagement depMan = this.project.getDependencyManagement();
         if (depMan == null) {
             return;
         }
 
-        final List<RuleDependency> projDeps = RuleDependency.convert(this.project.getDependencies());
+        List<RuleDependency> projDeps = RuleDependency.convert(this.project.getDependencies());
+        Set<String> wantedKeys = null;
+        if (this.demandDriven) {
+            projDeps = getDeclaredDependencies(projDeps);
+            if (projDeps.isEmpty() && !this.publishClosureIndex) {
+                getLog().debug("Project does not declare versions or scopes of dependencies, skip the check");
+                return;
+            }
+            if (!this.publishClosureIndex) { // Published closure should be complete.
+                wantedKeys = new HashSet<>();
+                for (RuleDependency d : projDeps) {
+                    wantedKeys.add(d.getArtifactKey());
+                }
+            }
+        }
 
-        final List<RuleDependency> depManDeps = new ArrayList<>();
+        this.closureCache = initClosureCache();
+        this.jvmClosureCache = this.jvmCache
+                ? JvmClosureCache.getInstance(this.jvmCacheMaxEntries, this.jvmCacheMaxBytes)
+                : null;
+        this.sharedCache = this.sessionCache ? SessionClosureCache.of(this.session.getRepositorySession()) : null;
+        this.dependencyPool = this.internDependencies
+                ? RuleDependencyPool.of(this.session.getRepositorySession())
+                : null;
+        this.missingDescriptors = new MissingDescriptorListener();
+        this.budget = TimeBudget.of(this.timeBudget, this.clock);
+        this.unevaluated = new TreeSet<>();
+        this.collectSession = newCollectSession();
+        this.descriptorReader = this.collectionMode == CollectionMode.DESCRIPTOR
+                ? DescriptorReader.of(this.session.getRepositorySession())
+                : null;
 
-        final Queue<RuleDependency> toProcess = new ArrayDeque<>(RuleDependency.convert(depMan.getDependencies()));
-        while (!toProcess.isEmpty()) {
-            final RuleDependency current = toProcess.poll();
-            if (depManDeps.contains(current)) {
-                continue;
+        final List<RuleDependency> roots = RuleDependency.convert(depMan.getDependencies());
+
+        String fingerprint = null;
+        if (this.incremental && !this.publishClosureIndex) {
+            final long incrementalStart = System.nanoTime();
+            fingerprint = getInputsFingerprint(projDeps, roots);
+            final IncrementalState state = readIncrementalState();
+            this.ruleMetrics.phase("incremental", System.nanoTime() - incrementalStart);
+            if (state != null && state.isActual(fingerprint)) {
+                getLog().debug("Inputs were not changed since previous execution, reuse its result");
+                if (state.getFailure() != null) {
+                    throw new EnforcerRuleException(state.getFailure());
+                }
+                return;
             }
+        }
 
-            depManDeps.add(current);
+        ClosureIndex closureIndex = null;
+        if (this.useClosureIndex) {
+            closureIndex = readParentClosureIndex();
+            if (closureIndex != null && !isActual(closureIndex, roots)) {
+                getLog().debug("Closure index of parent was built for other Dependency Management, collect closure");
+                closureIndex = null;
+            }
+        }
+
+        final VersionComparator versionComparator = new VersionComparator(this.versionComparison,
+                VersionCache.of(this.session.getRepositorySession()));
+        final ViolationCollector violationCollector = this.maxViolations > 0 && closureIndex == null
+                && !this.publishClosureIndex
+                && (this.collectionMode == CollectionMode.PER_ROOT
+                        || this.collectionMode == CollectionMode.DESCRIPTOR)
+                        ? new ViolationCollector(projDeps, this.maxViolations, versionComparator)
+                        : null;
 
-            final List<RuleDependency> transitiveDeps = collectDependencies(current);
-            if (getLog().isDebugEnabled()) {
-                debugPrint("Transitive dependencies of " + current.toString() + ":", transitiveDeps);
+        final long collectionStart = System.nanoTime();
+        final RuleEvents.Event collectionEvent = RuleEvents.get().beginCollection();
+        final Collection<RuleDependency> depManDeps;
+        if (closureIndex != null) {
+            getLog().debug("Closure of Dependency Management is read from closure index of parent");
+            depManDeps = closureIndex.getDependencies();
+        } else {
+            depManDeps = collect(roots, wantedKeys, violationCollector);
+        }
+        this.ruleMetrics.phase("collection", System.nanoTime() - collectionStart);
+        collectionEvent.commit(this.collectionMode.name(), depManDeps.size());
+        this.ruleMetrics.setClosureSize(depManDeps.size());
+
+        checkMissingDescriptors();
+        if (this.publishClosureIndex && this.unevaluated.isEmpty() && this.missingDescriptors.getMissing().isEmpty()) {
+            publishClosureIndex(roots, depManDeps);
+        }
+        if (!this.unevaluated.isEmpty()) {
+            checkUnevaluated();
+            if (this.budgetPolicy == BudgetPolicy.WARN) {
+                return;
             }
-            toProcess.addAll(transitiveDeps);
         }
 
         if (getLog().isDebugEnabled()) {
@@ -145,36 +1351,25 @@ public class NoOverwriteDependencies extends AbstractEnforcerRule {
             debugPrint("Dependencies Management:", depManDeps);
         }
 
-        final List<String> overrideErrors = new ArrayList<>();
-        for (RuleDependency projDep : projDeps) {
-            for (RuleDependency depManDep : depManDeps) {
-                if (isDifferentVersions(projDep, depManDep)) {
-                    final String errorLine = String.format("%s:%s:%s override by version %s",
-                            depManDep.getGroupId(), depManDep.getArtifactId(), depManDep.getVersion(),
-                            projDep.getVersion());
-                    overrideErrors.add(errorLine);
-                }
+        final long matchingStart = System.nanoTime();
+        final RuleEvents.Event matchingEvent = RuleEvents.get().beginMatching();
+        final List<Violation> violations = violationCollector != null
+                ? violationCollector.getViolations()
+                : new OverrideMatcher(depManDeps, versionComparator,
+                        getArtifactKeyFilter(roots, depManDeps,
+                                (wantedKeys == null || closureIndex != null) && this.unevaluated.isEmpty()))
+                        .find(projDeps, this.maxViolations);
+        this.ruleMetrics.phase("matching", System.nanoTime() - matchingStart);
+        matchingEvent.commit(this.project.getId(), violations.size());
 
-                if (isDifferentScopes(projDep, depManDep)) {
-                    final String errorLine = String.format("%s:%s:%s with scope %s override by scope %s",
-                            depManDep.getGroupId(), depManDep.getArtifactId(), depManDep.getVersion(),
-                            depManDep.getScope(),
-                            projDep.getScope());
-                    overrideErrors.add(errorLine);
-                }
-            }
+        final String failure = violations.isEmpty() ? null : getFailureMessage(violations);
+        // Result of partial or incomplete check is not reused.
+        if (fingerprint != null && this.unevaluated.isEmpty() && this.missingDescriptors.getMissing().isEmpty()) {
+            writeIncrementalState(fingerprint, failure, depManDeps);
         }
 
-        if (!overrideErrors.isEmpty()) {
-            final StringBuilder sb = new StringBuilder();
-            sb.append("Following dependencies try to overwrite dependencies from parent POM:");
-            sb.append("\n");
-            for (String line : overrideErrors) {
-                sb.append(" - ");
-                sb.append(line);
-                sb.append("\n");
-            }
-            throw new EnforcerRuleException(sb.toString());
+        if (failure != null) {
+            throw new EnforcerRuleException(failure);
         }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Find project dependencies that overwrite version or scope of managed
+ * dependencies.
+ */
+public class OverrideMatcher {
+
+    private final Collection<RuleDependency> depManDeps;
+
+    private final VersionComparator versionComparator;
+
+    private final ArtifactKeyFilter depManFilter;
+
+    private DependencyIndex depManIndex;
+
+    /**
+     * @param depManDeps managed dependencies with all their transitive
+     *                   dependencies.
+     */
+    public OverrideMatcher(final Collection<RuleDependency> depManDeps) {
+        this(depManDeps, VersionComparator.STRING);
+    }
+
+    /**
+     * @param depManDeps        managed dependencies with all their transitive
+     *                          dependencies.
+     * @param versionComparator how versions are compared.
+     */
+    public OverrideMatcher(final Collection<RuleDependency> depManDeps, final VersionComparator versionComparator) {
+        this(depManDeps, versionComparator, null);
+    }
+
+    /**
+     * @param depManDeps        managed dependencies with all their transitive
+     *                          dependencies.
+     * @param versionComparator how versions are compared.
+     * @param depManFilter      filter of the same managed dependencies that
+     *                          rejects project dependencies before the
+     *                          index is used. Can be <code>null</code>.
+     */
+    public OverrideMatcher(final Collection<RuleDependency> depManDeps, final VersionComparator versionComparator,
+            final ArtifactKeyFilter depManFilter) {
+        this.depManDeps = Check.notNull(depManDeps, "Managed dependencies should not be null");
+        this.versionComparator = Check.notNull(versionComparator, "Version comparator should not be null");
+        this.depManFilter = depManFilter;
+    }
+
+    /*
+     * Index is built only when some project dependency passes the filter, so
+     * modules that use none of managed dependencies do not pay for it.
+     */
+    private DependencyIndex getDepManIndex() {
+        if (this.depManIndex == null) {
+            this.depManIndex = new DependencyIndex(this.depManDeps);
+        }
+        return this.depManIndex;
+    }
+
+    private static boolean isDifferentVersions(final RuleDependency projDep, final RuleDependency depManDep,
+            final VersionComparator versionComparator) {
+        if (projDep.getVersion().isEmpty()) { // Do not overwrite the version.
+            return false;
+        }
+        return !versionComparator.isSame(projDep.getVersion(), depManDep.getVersion());
+    }
+
+    private static boolean isDifferentScopes(final RuleDependency projDep, final RuleDependency depManDep) {
+        if (projDep.getScope().isEmpty()) { // Do not overwrite the scope.
+            return false;
+        }
+        return !Objects.equals(projDep.getScope(), depManDep.getScope());
+    }
+
+    /**
+     * Add violations of one pair of dependencies with the same
+     * <code>groupId</code> and <code>artifactId</code>.
+     */
+    static void compare(final RuleDependency projDep, final RuleDependency depManDep,
+            final VersionComparator versionComparator, final List<Violation> violations) {
+        if (isDifferentVersions(projDep, depManDep, versionComparator)) {
+            violations.add(new Violation(Violation.Kind.VERSION, projDep, depManDep));
+        }
+        if (isDifferentScopes(projDep, depManDep)) {
+            violations.add(new Violation(Violation.Kind.SCOPE, projDep, depManDep));
+        }
+    }
+
+    /**
+     * @param limit stop when this number of violations is found. Not positive
+     *              value means no limit.
+     * @return violations in order of project dependencies.
+     */
+    public List<Violation> find(final Collection<RuleDependency> projDeps, final int limit) {
+        final List<Violation> violations = new ArrayList<>();
+        for (RuleDependency projDep : projDeps) {
+            if (this.depManFilter != null && !this.depManFilter.mightContain(projDep)) {
+                continue;
+            }
+            for (RuleDependency depManDep : getDepManIndex().find(projDep)) {
+                compare(projDep, depManDep, this.versionComparator, violations);
+                if (limit > 0 && violations.size() >= limit) {
+                    return violations.subList(0, limit);
+                }
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executor with bounded number of threads that keeps order of results.
+ * <p>
+ * Virtual threads are used if runtime JDK supports them, platform daemon
+ * threads otherwise.
+ */
+public class ParallelExecutor implements AutoCloseable {
+
+    private final int parallelism;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param parallelism maximum number of tasks that are executed at the same
+     *                    time. Value <code>1</code> means that all tasks are
+     *                    executed in the calling thread.
+     */
+    public ParallelExecutor(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        this.parallelism = parallelism;
+        // Threads are started on demand, so no thread is started if only calling thread is used.
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /*
+     * Thread.ofVirtual() is not available on Java 8, so it is called through
+     * reflection.
+     */
+    private static ThreadFactory threadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            final AtomicInteger counter = new AtomicInteger();
+            return runnable -> {
+                final Thread thread = new Thread(runnable, "no-overwrite-dependencies-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Apply function to every item.
+     *
+     * @return results in the same order as items.
+     */
+    public <T, R> List<R> map(final List<T> items, final Function<T, R> function) {
+        final List<R> results = new ArrayList<>(items.size());
+        if (this.parallelism == 1 || items.size() < 2) {
+            for (T item : items) {
+                results.add(function.apply(item));
+            }
+            return results;
+        }
+
+        final List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(this.executor.submit(() -> function.apply(item)));
+        }
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            for (Future<R> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private static RuntimeException rethrow(final Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    /**
+     * Apply function to every item, but do not wait for an item longer than
+     * timeout since its start and do not start or wait for items after budget
+     * is exhausted.
+     * <p>
+     * Items are executed by the same bounded pool of threads. Item that is out
+     * of time is cancelled with interruption; if it does not respond to it, its
+     * thread stays busy until the item finishes, but no new threads are
+     * started.
+     *
+     * @param timeout maximum time of one item in nanoseconds, <code>0</code>
+     *                means no limit.
+     * @return results in the same order as items, <code>null</code> for items
+     *         that were not finished in time.
+     */
+    public <T, R> List<R> map(final List<T> items, final Function<T, R> function, final long timeout,
+            final TimeBudget budget) {
+        final int size = items.size();
+        final List<R> results = new ArrayList<>(Collections.nCopies(size, null));
+        final CompletionService<R> completion = new ExecutorCompletionService<>(this.executor);
+        // Running item to its index and start time, the oldest one is the first.
+        final Map<Future<R>, long[]> running = new LinkedHashMap<>();
+
+        int next = 0;
+        try {
+            while (next < size || !running.isEmpty()) {
+                while (next < size && running.size() < this.parallelism && !budget.isExhausted()) {
+                    final T item = items.get(next);
+                    running.put(completion.submit(() -> function.apply(item)), new long[] { next, System.nanoTime() });
+                    ++next;
+                }
+                if (running.isEmpty()) {
+                    break; // Budget is exhausted.
+                }
+
+                long wait = budget.remaining();
+                if (timeout > 0) {
+                    wait = Math.min(wait, running.values().iterator().next()[1] + timeout - System.nanoTime());
+                }
+                final Future<R> done = completion.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                if (done != null) {
+                    final long[] started = running.remove(done);
+                    if (started != null) { // Otherwise item was cancelled as out of time.
+                        results.set((int) started[0], done.get());
+                    }
+                    continue;
+                }
+
+                final long now = System.nanoTime();
+                final Iterator<Map.Entry<Future<R>, long[]>> iterator = running.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<Future<R>, long[]> entry = iterator.next();
+                    if (budget.isExhausted() || (timeout > 0 && now - entry.getValue()[1] >= timeout)) {
+                        if (entry.getKey().cancel(true)) {
+                            iterator.remove();
+                        } // Otherwise item has just finished and its result is already in the queue.
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            for (Future<R> future : running.keySet()) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+}
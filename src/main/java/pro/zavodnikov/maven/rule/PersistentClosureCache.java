@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * On-disk cache of transitive dependencies.
+ * <p>
+ * Every entry is stored in separate file with compact binary format of
+ * {@link BinaryCodec} that is read through memory mapping:
+ *
+ * <pre>
+ * string key
+ * stamps of POM files
+ * dependencies
+ * </pre>
+ *
+ * Entry is invalidated when any of the stamped POM files in the local
+ * repository (including parents and imported BOMs) was changed or removed.
+ */
+public class PersistentClosureCache {
+
+    private static final int MAGIC = 0x4E4F4443;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String SUFFIX = ".closure";
+
+    private final File directory;
+
+    private final File localRepository;
+
+    /**
+     * @param directory       directory where cache files are stored.
+     * @param localRepository base directory of local repository. Paths of POM
+     *                        stamps are relative to it.
+     */
+    public PersistentClosureCache(final File directory, final File localRepository) {
+        this.directory = Check.notNull(directory, "Cache directory should not be null");
+        this.localRepository = Check.notNull(localRepository, "Local repository should not be null");
+    }
+
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    private File getFile(final String key) {
+        return new File(this.directory, Fingerprint.of(key) + SUFFIX);
+    }
+
+    /**
+     * @return cached transitive dependencies or <code>null</code> if there are
+     *         no actual entry for that key.
+     */
+    public List<RuleDependency> get(final String key) throws IOException {
+        return BinaryCodec.map(getFile(key), MAGIC, FORMAT_VERSION, in -> {
+            if (!key.equals(in.readString())
+                    || !in.readStamps().isActual(path -> new File(this.localRepository, path))) {
+                return null;
+            }
+            return in.readDependencies();
+        });
+    }
+
+    /**
+     * Store transitive dependencies.
+     *
+     * @param key     key of the entry.
+     * @param closure transitive dependencies.
+     * @param poms    POM files in local repository that were used to build
+     *                transitive dependencies.
+     */
+    public void put(final String key, final List<RuleDependency> closure, final Set<File> poms)
+            throws IOException {
+        final BinaryCodec.Stamps stamps = BinaryCodec.Stamps.of(poms, this::relativePath);
+        BinaryCodec.write(getFile(key), MAGIC, FORMAT_VERSION, out -> {
+            out.writeString(key);
+            out.writeStamps(stamps);
+            out.writeDependencies(closure);
+        });
+    }
+
+    private String relativePath(final File pom) {
+        return this.localRepository.toPath().relativize(pom.toPath()).toString();
+    }
+}
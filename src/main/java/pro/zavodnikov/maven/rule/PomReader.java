@@ -0,0 +1,272 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.DistributionManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Relocation;
+
+/**
+ * Streaming reader of POM files that reads only coordinates, parent,
+ * properties, dependencies and Dependency Management. Profiles and relocation
+ * are only marked, so it is possible to find out that POM file has them.
+ * Everything else is skipped.
+ */
+public final class PomReader {
+
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    private static final String PROJECT = "/project";
+
+    private static final String PARENT = PROJECT + "/parent";
+
+    private static final String PROPERTIES = PROJECT + "/properties";
+
+    private static final String DEPENDENCY = PROJECT + "/dependencies/dependency";
+
+    private static final String MANAGED_DEPENDENCY = PROJECT + "/dependencyManagement/dependencies/dependency";
+
+    private static final String EXCLUSION = "/exclusions/exclusion";
+
+    private static final String PROFILE = PROJECT + "/profiles/profile";
+
+    private static final String RELOCATION = PROJECT + "/distributionManagement/relocation";
+
+    private PomReader() {
+    }
+
+    private static XMLInputFactory newFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * @return model that contains only elements required by the rule.
+     */
+    public static Model read(final File pom) throws IOException {
+        try (InputStream in = Files.newInputStream(pom.toPath())) {
+            final XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Can not parse " + pom + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Model read(final XMLStreamReader reader) throws XMLStreamException {
+        final Model model = new Model();
+        final StringBuilder path = new StringBuilder();
+        final StringBuilder text = new StringBuilder();
+        Dependency dependency = null;
+        Exclusion exclusion = null;
+        Profile profile = null;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    path.append('/').append(reader.getLocalName());
+                    text.setLength(0);
+
+                    final String started = path.toString();
+                    if (started.equals(PARENT)) {
+                        model.setParent(new Parent());
+                    } else if (started.equals(DEPENDENCY) || started.equals(MANAGED_DEPENDENCY)) {
+                        dependency = new Dependency();
+                    } else if (started.equals(DEPENDENCY + EXCLUSION)
+                            || started.equals(MANAGED_DEPENDENCY + EXCLUSION)) {
+                        exclusion = new Exclusion();
+                    } else if (started.equals(PROFILE)) {
+                        profile = new Profile();
+                        model.addProfile(profile);
+                    } else if (profile != null) {
+                        markProfile(profile, started);
+                    } else if (started.equals(RELOCATION)) {
+                        model.setDistributionManagement(new DistributionManagement());
+                        model.getDistributionManagement().setRelocation(new Relocation());
+                    }
+                    break;
+
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    text.append(reader.getText());
+                    break;
+
+                case XMLStreamConstants.END_ELEMENT:
+                    final String ended = path.toString();
+                    final String name = reader.getLocalName();
+                    final String value = text.toString().trim();
+
+                    if (ended.equals(PROFILE)) {
+                        profile = null;
+                    } else if (ended.equals(DEPENDENCY)) {
+                        model.addDependency(dependency);
+                        dependency = null;
+                    } else if (ended.equals(MANAGED_DEPENDENCY)) {
+                        if (model.getDependencyManagement() == null) {
+                            model.setDependencyManagement(new DependencyManagement());
+                        }
+                        model.getDependencyManagement().addDependency(dependency);
+                        dependency = null;
+                    } else if (exclusion != null) {
+                        if (ended.endsWith(EXCLUSION)) {
+                            dependency.addExclusion(exclusion);
+                            exclusion = null;
+                        } else {
+                            setExclusionField(exclusion, name, value);
+                        }
+                    } else if (dependency != null) {
+                        setDependencyField(dependency, ended, name, value);
+                    } else if (ended.startsWith(PARENT + "/") && model.getParent() != null) {
+                        setParentField(model.getParent(), name, value);
+                    } else if (ended.startsWith(PROPERTIES + "/")) {
+                        model.addProperty(name, value);
+                    } else if (ended.lastIndexOf('/') == PROJECT.length()) {
+                        setProjectField(model, name, value);
+                    }
+
+                    path.setLength(path.length() - name.length() - 1);
+                    text.setLength(0);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        return model;
+    }
+
+    /*
+     * Only content that can change dependencies of the POM is marked.
+     */
+    private static void markProfile(final Profile profile, final String path) {
+        if (path.equals(PROFILE + "/dependencies/dependency")) {
+            profile.addDependency(new Dependency());
+        } else if (path.equals(PROFILE + "/dependencyManagement")) {
+            profile.setDependencyManagement(new DependencyManagement());
+        } else if (path.startsWith(PROFILE + "/properties/")) {
+            profile.addProperty(path.substring(path.lastIndexOf('/') + 1), "");
+        }
+    }
+
+    private static void setProjectField(final Model model, final String name, final String value) {
+        switch (name) {
+            case "groupId":
+                model.setGroupId(value);
+                break;
+            case "artifactId":
+                model.setArtifactId(value);
+                break;
+            case "version":
+                model.setVersion(value);
+                break;
+            case "packaging":
+                model.setPackaging(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void setParentField(final Parent parent, final String name, final String value) {
+        switch (name) {
+            case "groupId":
+                parent.setGroupId(value);
+                break;
+            case "artifactId":
+                parent.setArtifactId(value);
+                break;
+            case "version":
+                parent.setVersion(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void setDependencyField(final Dependency dependency, final String path, final String name,
+            final String value) {
+        if (!path.equals(DEPENDENCY + "/" + name) && !path.equals(MANAGED_DEPENDENCY + "/" + name)) {
+            return; // Not a direct child of the dependency.
+        }
+        switch (name) {
+            case "groupId":
+                dependency.setGroupId(value);
+                break;
+            case "artifactId":
+                dependency.setArtifactId(value);
+                break;
+            case "version":
+                dependency.setVersion(value);
+                break;
+            case "type":
+                dependency.setType(value);
+                break;
+            case "classifier":
+                dependency.setClassifier(value);
+                break;
+            case "scope":
+                dependency.setScope(value);
+                break;
+            case "optional":
+                dependency.setOptional(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void setExclusionField(final Exclusion exclusion, final String name, final String value) {
+        switch (name) {
+            case "groupId":
+                exclusion.setGroupId(value);
+                break;
+            case "artifactId":
+                exclusion.setArtifactId(value);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -25,13 +25,15 @@ package pro.zavodnikov.maven.rule;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * Container for dependencies.
+ * <p>
+ * Immutable value: hash code is computed once at construction and all fields
+ * are never <code>null</code>.
  */
-public class RuleDependency {
+public final class RuleDependency {
 
     private final String groupId;
 
@@ -45,6 +47,10 @@ public class RuleDependency {
 
     private final String scope;
 
+    private final int hash;
+
+    private String artifactKey;
+
     public RuleDependency(
             final String groupId,
             final String artifactId,
@@ -59,6 +65,14 @@ public class RuleDependency {
         this.version = Check.defaultValue(version, "");
 
         this.scope = Check.defaultValue(scope, "compile");
+
+        int h = this.groupId.hashCode();
+        h = 31 * h + this.artifactId.hashCode();
+        h = 31 * h + this.classifier.hashCode();
+        h = 31 * h + this.type.hashCode();
+        h = 31 * h + this.version.hashCode();
+        h = 31 * h + this.scope.hashCode();
+        this.hash = h;
     }
 
     public RuleDependency(final org.apache.maven.model.Dependency dependency) {
@@ -109,6 +123,63 @@ public class RuleDependency {
         return this.scope;
     }
 
+    /**
+     * @return <code>groupId:artifactId</code> key of this dependency.
+     */
+    public String getArtifactKey() {
+        String key = this.artifactKey;
+        if (key == null) { // Benign race: all threads compute the same value.
+            key = getGroupId() + ":" + getArtifactId();
+            this.artifactKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * @return <code>groupId:artifactId:classifier:type:version</code> key of
+     *         this dependency, the same for all scopes.
+     */
+    public String getCoordinatesKey() {
+        return new StringBuilder()
+                .append(getGroupId()).append(':')
+                .append(getArtifactId()).append(':')
+                .append(getClassifier()).append(':')
+                .append(getType()).append(':')
+                .append(getVersion())
+                .toString();
+    }
+
+    /**
+     * @return <code>groupId:artifactId:version</code> key of POM that defines
+     *         transitive dependencies of this dependency, the same for all
+     *         scopes, types and classifiers.
+     */
+    public String getDescriptorKey() {
+        return getGroupId() + ":" + getArtifactId() + ":" + getVersion();
+    }
+
+    /**
+     * @return dependency on main artifact with the same group, artifact and
+     *         version without scope. It has the same transitive dependencies
+     *         as this one, because they are defined by the same POM.
+     */
+    public RuleDependency toDescriptorRoot() {
+        if (this.classifier.isEmpty() && "jar".equals(this.type) && "compile".equals(this.scope)) {
+            return this;
+        }
+        return new RuleDependency(getGroupId(), getArtifactId(), null, "jar", getVersion(), null);
+    }
+
+    /**
+     * @return dependency with the same coordinates and provided scope.
+     */
+    public RuleDependency withScope(final String scope) {
+        if (this.scope.equals(Check.defaultValue(scope, "compile"))) {
+            return this;
+        }
+        return new RuleDependency(getGroupId(), getArtifactId(), getClassifier(), getType(), getVersion(), scope);
+    }
+
     public org.eclipse.aether.artifact.Artifact getGraphArtifact() {
         return new org.eclipse.aether.artifact.DefaultArtifact(
                 getGroupId(),
@@ -122,25 +193,21 @@ public class RuleDependency {
         return new org.eclipse.aether.graph.Dependency(getGraphArtifact(), getScope());
     }
 
-    private String[] getFields() {
-        return new String[] {
-                getGroupId(),
-                getArtifactId(),
-                getClassifier(),
-                getType(),
-                getVersion(),
-                getScope(),
-        };
-    }
-
     @Override
     public String toString() {
-        return String.join(":", getFields());
+        return new StringBuilder()
+                .append(getGroupId()).append(':')
+                .append(getArtifactId()).append(':')
+                .append(getClassifier()).append(':')
+                .append(getType()).append(':')
+                .append(getVersion()).append(':')
+                .append(getScope())
+                .toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(getFields());
+        return this.hash;
     }
 
     @Override
@@ -153,14 +220,13 @@ public class RuleDependency {
         }
         if (obj instanceof RuleDependency) {
             final RuleDependency other = (RuleDependency) obj;
-            final String[] localFields = getFields();
-            final String[] otherFields = other.getFields();
-            for (int i = 0; i < localFields.length; ++i) {
-                if (!Objects.equals(localFields[i], otherFields[i])) {
-                    return false;
-                }
-            }
-            return true;
+            return this.hash == other.hash
+                    && this.version.equals(other.version)
+                    && this.artifactId.equals(other.artifactId)
+                    && this.groupId.equals(other.groupId)
+                    && this.scope.equals(other.scope)
+                    && this.type.equals(other.type)
+                    && this.classifier.equals(other.classifier);
         }
         return false;
     }
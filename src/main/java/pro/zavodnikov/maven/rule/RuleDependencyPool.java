@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Pool of canonical {@link RuleDependency} instances.
+ * <p>
+ * Equal dependencies that were built from different graph nodes are replaced
+ * by one instance, and all instances share the same strings of coordinates.
+ */
+public class RuleDependencyPool {
+
+    private static final Object KEY = RuleDependencyPool.class;
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<RuleDependency, RuleDependency> dependencies = new ConcurrentHashMap<>();
+
+    /**
+     * @return pool that is bound to provided repository session.
+     */
+    public static RuleDependencyPool of(final RepositorySystemSession session) {
+        return SessionDataSupport.computeIfAbsent(session, KEY, RuleDependencyPool::new);
+    }
+
+    private String intern(final String value) {
+        final String existing = this.strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * @return canonical instance that is equal to provided one.
+     */
+    public RuleDependency intern(final RuleDependency dependency) {
+        final RuleDependency existing = this.dependencies.get(dependency);
+        if (existing != null) {
+            return existing;
+        }
+
+        final RuleDependency interned = new RuleDependency(
+                intern(dependency.getGroupId()),
+                intern(dependency.getArtifactId()),
+                intern(dependency.getClassifier()),
+                intern(dependency.getType()),
+                intern(dependency.getVersion()),
+                intern(dependency.getScope()));
+        final RuleDependency raced = this.dependencies.putIfAbsent(interned, interned);
+        return raced != null ? raced : interned;
+    }
+
+    /**
+     * @return number of canonical dependencies.
+     */
+    public int size() {
+        return this.dependencies.size();
+    }
+}
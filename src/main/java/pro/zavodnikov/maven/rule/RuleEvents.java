@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+/**
+ * Events of the rule for profilers. Java Flight Recorder is used if runtime
+ * JDK has it, otherwise events are ignored.
+ */
+abstract class RuleEvents {
+
+    /**
+     * Prefix of names of recorded events.
+     */
+    static final String PREFIX = "pro.zavodnikov.maven.rule.NoOverwriteDependencies.";
+
+    /**
+     * Event with duration that was begun.
+     */
+    interface Event {
+
+        /**
+         * Finish the event and record it if recording is enabled.
+         *
+         * @param subject what the event is about.
+         * @param count   number of processed items.
+         */
+        void commit(String subject, long count);
+    }
+
+    static final Event NO_EVENT = (subject, count) -> {
+    };
+
+    private static final RuleEvents NONE = new RuleEvents() {
+        @Override
+        Event beginCollect() {
+            return NO_EVENT;
+        }
+
+        @Override
+        Event beginCollection() {
+            return NO_EVENT;
+        }
+
+        @Override
+        Event beginMatching() {
+            return NO_EVENT;
+        }
+    };
+
+    private static final RuleEvents INSTANCE = load();
+
+    /*
+     * Implementation is loaded by name from multi-release layer of the JAR, so
+     * classes of jdk.jfr are never touched on JDK without them and JAR that
+     * was built without the layer just does not record events.
+     */
+    private static RuleEvents load() {
+        try {
+            Class.forName("jdk.jfr.Event", false, RuleEvents.class.getClassLoader());
+            return (RuleEvents) Class.forName(RuleEvents.class.getPackage().getName() + ".JfrRuleEvents")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return NONE;
+        }
+    }
+
+    static RuleEvents get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return <code>true</code> if events are recorded by Java Flight Recorder.
+     */
+    static boolean isRecorded() {
+        return INSTANCE != NONE;
+    }
+
+    /**
+     * @return event of collection of transitive dependencies of one root, its
+     *         subject is the root and count is number of collected nodes.
+     */
+    abstract Event beginCollect();
+
+    /**
+     * @return event of collection phase, its subject is collection mode and
+     *         count is size of closure of Dependency Management.
+     */
+    abstract Event beginCollection();
+
+    /**
+     * @return event of matching phase, its subject is the project and count is
+     *         number of violations.
+     */
+    abstract Event beginMatching();
+}
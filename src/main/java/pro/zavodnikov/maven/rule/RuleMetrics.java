@@ -0,0 +1,276 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timings and counters of one rule execution. Counters can be updated from
+ * several threads.
+ */
+public class RuleMetrics {
+
+    /**
+     * Time of collection of one root.
+     */
+    public static class RootTiming {
+
+        private final String root;
+
+        private final long nanos;
+
+        private final int nodes;
+
+        public RootTiming(final String root, final long nanos, final int nodes) {
+            this.root = root;
+            this.nanos = nanos;
+            this.nodes = nodes;
+        }
+
+        public String getRoot() {
+            return this.root;
+        }
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public int getNodes() {
+            return this.nodes;
+        }
+    }
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private final AtomicLong collectCalls = new AtomicLong();
+
+    private final AtomicLong collectNanos = new AtomicLong();
+
+    private final AtomicLong sessionCacheHits = new AtomicLong();
+
+    private final AtomicLong sessionCacheMisses = new AtomicLong();
+
+    private final AtomicLong jvmCacheHits = new AtomicLong();
+
+    private final AtomicLong jvmCacheMisses = new AtomicLong();
+
+    private final AtomicLong persistentCacheHits = new AtomicLong();
+
+    private final AtomicLong persistentCacheMisses = new AtomicLong();
+
+    private final ConcurrentLinkedQueue<RootTiming> rootTimings = new ConcurrentLinkedQueue<>();
+
+    private long closureSize = 0;
+
+    /**
+     * Record wall time of the phase. Phases are reported in order they were
+     * recorded first time.
+     */
+    public synchronized void phase(final String name, final long nanos) {
+        this.phases.merge(name, nanos, Long::sum);
+    }
+
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(this.phases);
+    }
+
+    /**
+     * Record one call of dependency collection.
+     */
+    public void collected(final String root, final long nanos, final int nodes) {
+        this.collectCalls.incrementAndGet();
+        this.collectNanos.addAndGet(nanos);
+        this.rootTimings.add(new RootTiming(root, nanos, nodes));
+    }
+
+    public long getCollectCalls() {
+        return this.collectCalls.get();
+    }
+
+    public long getCollectNanos() {
+        return this.collectNanos.get();
+    }
+
+    public void sessionCache(final boolean hit) {
+        (hit ? this.sessionCacheHits : this.sessionCacheMisses).incrementAndGet();
+    }
+
+    public long getSessionCacheHits() {
+        return this.sessionCacheHits.get();
+    }
+
+    public long getSessionCacheMisses() {
+        return this.sessionCacheMisses.get();
+    }
+
+    public void jvmCache(final boolean hit) {
+        (hit ? this.jvmCacheHits : this.jvmCacheMisses).incrementAndGet();
+    }
+
+    public long getJvmCacheHits() {
+        return this.jvmCacheHits.get();
+    }
+
+    public long getJvmCacheMisses() {
+        return this.jvmCacheMisses.get();
+    }
+
+    public void persistentCache(final boolean hit) {
+        (hit ? this.persistentCacheHits : this.persistentCacheMisses).incrementAndGet();
+    }
+
+    public long getPersistentCacheHits() {
+        return this.persistentCacheHits.get();
+    }
+
+    public long getPersistentCacheMisses() {
+        return this.persistentCacheMisses.get();
+    }
+
+    public synchronized void setClosureSize(final long closureSize) {
+        this.closureSize = closureSize;
+    }
+
+    public synchronized long getClosureSize() {
+        return this.closureSize;
+    }
+
+    /**
+     * @return slowest collected roots, slowest first.
+     */
+    public List<RootTiming> getSlowestRoots(final int limit) {
+        final List<RootTiming> timings = new ArrayList<>(this.rootTimings);
+        timings.sort(Comparator.comparingLong(RootTiming::getNanos).reversed());
+        return timings.subList(0, Math.min(limit, timings.size()));
+    }
+
+    private static long millis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * @return one-line human-readable summary.
+     */
+    public String toSummary() {
+        final StringBuilder sb = new StringBuilder("No overwrite dependencies:");
+        for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+            sb.append(' ').append(phase.getKey()).append(' ').append(millis(phase.getValue())).append(" ms,");
+        }
+        sb.append(' ').append(getCollectCalls()).append(" collect calls (")
+                .append(millis(getCollectNanos())).append(" ms),");
+        sb.append(" closure size ").append(getClosureSize()).append(',');
+        sb.append(" session cache ").append(getSessionCacheHits()).append('/').append(getSessionCacheMisses());
+        sb.append(", JVM cache ").append(getJvmCacheHits()).append('/').append(getJvmCacheMisses());
+        sb.append(", persistent cache ").append(getPersistentCacheHits()).append('/')
+                .append(getPersistentCacheMisses());
+        sb.append(" (hits/misses)");
+
+        final List<RootTiming> slowest = getSlowestRoots(3);
+        if (!slowest.isEmpty()) {
+            sb.append(", slowest:");
+            for (RootTiming timing : slowest) {
+                sb.append(' ').append(timing.getRoot()).append(' ').append(millis(timing.getNanos())).append(" ms");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * @return machine-readable representation of metrics.
+     */
+    public String toJson(final int slowestLimit) {
+        final StringBuilder sb = new StringBuilder("{\n");
+        sb.append("  \"phasesMillis\": {");
+        boolean first = true;
+        for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+            sb.append(first ? "" : ",").append("\n    ").append(quote(phase.getKey())).append(": ")
+                    .append(millis(phase.getValue()));
+            first = false;
+        }
+        sb.append("\n  },\n");
+        sb.append("  \"collectCalls\": ").append(getCollectCalls()).append(",\n");
+        sb.append("  \"collectMillis\": ").append(millis(getCollectNanos())).append(",\n");
+        sb.append("  \"closureSize\": ").append(getClosureSize()).append(",\n");
+        sb.append("  \"sessionCacheHits\": ").append(getSessionCacheHits()).append(",\n");
+        sb.append("  \"sessionCacheMisses\": ").append(getSessionCacheMisses()).append(",\n");
+        sb.append("  \"jvmCacheHits\": ").append(getJvmCacheHits()).append(",\n");
+        sb.append("  \"jvmCacheMisses\": ").append(getJvmCacheMisses()).append(",\n");
+        sb.append("  \"persistentCacheHits\": ").append(getPersistentCacheHits()).append(",\n");
+        sb.append("  \"persistentCacheMisses\": ").append(getPersistentCacheMisses()).append(",\n");
+        sb.append("  \"slowestRoots\": [");
+        first = true;
+        for (RootTiming timing : getSlowestRoots(slowestLimit)) {
+            sb.append(first ? "" : ",").append("\n    {\"root\": ").append(quote(timing.getRoot()))
+                    .append(", \"millis\": ").append(millis(timing.getNanos()))
+                    .append(", \"nodes\": ").append(timing.getNodes()).append('}');
+            first = false;
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    public void writeJson(final File file, final int slowestLimit) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.write(toJson(slowestLimit));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+/**
+ * Scope of transitive dependency as Maven derives it from scope of the
+ * dependency that brings it.
+ */
+public final class ScopeMediation {
+
+    private static final String COMPILE = "compile";
+
+    private static final String PROVIDED = "provided";
+
+    private static final String RUNTIME = "runtime";
+
+    private static final String SYSTEM = "system";
+
+    private static final String TEST = "test";
+
+    private ScopeMediation() {
+    }
+
+    /*
+     * Same rules as org.eclipse.aether.util.graph.transformer.JavaScopeDeriver.
+     */
+    public static String derive(final String parentScope, final String childScope) {
+        if (SYSTEM.equals(childScope) || TEST.equals(childScope)) {
+            return childScope;
+        }
+        if (parentScope == null || parentScope.isEmpty() || COMPILE.equals(parentScope)) {
+            return childScope;
+        }
+        if (TEST.equals(parentScope) || RUNTIME.equals(parentScope)) {
+            return parentScope;
+        }
+        if (SYSTEM.equals(parentScope) || PROVIDED.equals(parentScope)) {
+            return PROVIDED;
+        }
+        return RUNTIME;
+    }
+}
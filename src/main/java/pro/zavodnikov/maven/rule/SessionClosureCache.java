@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Cache of transitive dependencies that is shared by all modules of one build.
+ * <p>
+ * Instance is stored in the data of repository session, so it lives as long
+ * as the Maven session. When several modules of parallel build request the
+ * same key, only the first one collects dependencies and others wait for its
+ * result, but not longer than their time budget.
+ * <p>
+ * Entry keeps artifacts which descriptors were missing during collection, so
+ * every module that reuses incomplete transitive dependencies reports them.
+ * Result of interrupted loader can be incomplete too, so it is not shared and
+ * next request loads it again.
+ */
+public class SessionClosureCache {
+
+    private static final Object KEY = SessionClosureCache.class;
+
+    /**
+     * Transitive dependencies with artifacts which descriptors were missing.
+     */
+    public static final class Entry {
+
+        private final List<RuleDependency> closure;
+
+        private final Set<String> missing;
+
+        /**
+         * @param closure transitive dependencies.
+         * @param missing <code>groupId:artifactId:version</code> of artifacts
+         *                which descriptors were missing.
+         */
+        public Entry(final List<RuleDependency> closure, final Set<String> missing) {
+            this.closure = Collections.unmodifiableList(Check.notNull(closure, "Closure should not be null"));
+            this.missing = Collections.unmodifiableSet(Check.notNull(missing, "Missing should not be null"));
+        }
+
+        public List<RuleDependency> getClosure() {
+            return this.closure;
+        }
+
+        public Set<String> getMissing() {
+            return this.missing;
+        }
+    }
+
+    private final ConcurrentMap<String, CompletableFuture<Entry>> closures = new ConcurrentHashMap<>();
+
+    /**
+     * @return cache that is bound to provided repository session.
+     */
+    public static SessionClosureCache of(final RepositorySystemSession session) {
+        return SessionDataSupport.computeIfAbsent(session, KEY, SessionClosureCache::new);
+    }
+
+    /**
+     * @param key    key of transitive dependencies.
+     * @param loader will be called if there are no value for that key yet and
+     *               no other thread is loading it right now.
+     * @param budget time to wait for other thread that loads the value.
+     * @return transitive dependencies for that key or <code>null</code> if
+     *         they were not loaded in time or current thread was interrupted.
+     */
+    public Entry get(final String key, final Supplier<Entry> loader, final TimeBudget budget) {
+        Check.notNull(budget, "Budget should not be null");
+        while (true) {
+            final CompletableFuture<Entry> created = new CompletableFuture<>();
+            final CompletableFuture<Entry> existing = this.closures.putIfAbsent(key, created);
+            if (existing == null) {
+                return load(key, loader, created);
+            }
+
+            try {
+                return existing.get(budget.remaining(), TimeUnit.NANOSECONDS);
+            } catch (CancellationException e) {
+                // Loader was interrupted, try to load it again.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (TimeoutException e) {
+                return null;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private Entry load(final String key, final Supplier<Entry> loader, final CompletableFuture<Entry> created) {
+        final Entry entry;
+        try {
+            entry = loader.get();
+        } catch (RuntimeException | Error e) {
+            // Do not keep failures: next request should try again.
+            this.closures.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            this.closures.remove(key, created);
+            created.cancel(false);
+            return null;
+        }
+        created.complete(entry);
+        return entry;
+    }
+
+    /**
+     * @return number of stored keys.
+     */
+    public int size() {
+        return this.closures.size();
+    }
+}
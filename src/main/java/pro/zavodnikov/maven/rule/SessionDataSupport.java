@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.function.Supplier;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Values that are bound to repository session, so they are shared by all
+ * modules of one build.
+ */
+public final class SessionDataSupport {
+
+    private SessionDataSupport() {
+    }
+
+    /**
+     * @param session repository session.
+     * @param key     key of the value in data of the session.
+     * @param factory creates the value if session does not have it yet; in
+     *                parallel builds it may be called more than once, but only
+     *                one of created values is bound to the session.
+     * @return value that is bound to the session.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T computeIfAbsent(final RepositorySystemSession session, final Object key,
+            final Supplier<T> factory) {
+        Check.notNull(session, "Session should not be null");
+        Check.notNull(key, "Key should not be null");
+        Check.notNull(factory, "Factory should not be null");
+
+        final SessionData data = session.getData();
+        while (true) {
+            final Object value = data.get(key);
+            if (value != null) {
+                return (T) value;
+            }
+            final T created = factory.get();
+            if (data.set(key, null, created)) {
+                return created;
+            }
+        }
+    }
+}
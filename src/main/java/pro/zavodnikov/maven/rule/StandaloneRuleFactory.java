@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.NoLocalRepositoryManagerException;
+
+/**
+ * Creates {@link NoOverwriteDependencies} that runs without Maven, with
+ * repository system of Maven resolver and sessions that use provided local
+ * repository.
+ * <p>
+ * There is no project dependencies resolver outside of Maven, so
+ * {@link CollectionMode#PROJECT} mode is not supported by such rules.
+ */
+public class StandaloneRuleFactory {
+
+    private final RepositorySystem repositorySystem;
+
+    private final File localRepository;
+
+    /**
+     * @param localRepository local repository to collect dependencies from.
+     */
+    public StandaloneRuleFactory(final File localRepository) {
+        this.localRepository = Check.notNull(localRepository, "Local repository should not be null");
+        this.repositorySystem = MavenRepositorySystemUtils.newServiceLocator().getService(RepositorySystem.class);
+    }
+
+    public RepositorySystem getRepositorySystem() {
+        return this.repositorySystem;
+    }
+
+    /**
+     * @return new repository session, so nothing is shared with previous
+     *         sessions.
+     */
+    public DefaultRepositorySystemSession newRepositorySession() {
+        final DefaultRepositorySystemSession repositorySession = MavenRepositorySystemUtils.newSession();
+        try {
+            repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+                    .newInstance(repositorySession, new LocalRepository(this.localRepository)));
+        } catch (NoLocalRepositoryManagerException e) {
+            throw new IllegalStateException(e);
+        }
+        return repositorySession;
+    }
+
+    /**
+     * @return Maven session of the project; projects with the same repository
+     *         session share caches of the rule.
+     */
+    @SuppressWarnings("deprecation")
+    public MavenSession newSession(final RepositorySystemSession repositorySession, final MavenProject project) {
+        Check.notNull(repositorySession, "Repository session should not be null");
+        Check.notNull(project, "Project should not be null");
+
+        final MavenSession session = new MavenSession(null, repositorySession,
+                new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        session.setCurrentProject(project);
+        return session;
+    }
+
+    /**
+     * @return rule that checks the project in provided session.
+     */
+    public NoOverwriteDependencies newRule(final MavenProject project, final MavenSession session) {
+        return new NoOverwriteDependencies(project, session, this.repositorySystem, null);
+    }
+}
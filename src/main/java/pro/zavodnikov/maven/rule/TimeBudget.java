@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Time that is left for some work.
+ */
+public final class TimeBudget {
+
+    /**
+     * Budget that is never exhausted.
+     */
+    public static final TimeBudget UNLIMITED = new TimeBudget(false, 0, System::nanoTime);
+
+    private final boolean limited;
+
+    private final long deadline;
+
+    private final LongSupplier clock;
+
+    private TimeBudget(final boolean limited, final long deadline, final LongSupplier clock) {
+        this.limited = limited;
+        this.deadline = deadline;
+        this.clock = clock;
+    }
+
+    /**
+     * @param millis budget in milliseconds starting from now, <code>0</code>
+     *               means no limit.
+     */
+    public static TimeBudget of(final long millis) {
+        return of(millis, System::nanoTime);
+    }
+
+    /**
+     * @param millis budget in milliseconds starting from now, <code>0</code>
+     *               means no limit.
+     * @param clock  source of time in nanoseconds.
+     */
+    public static TimeBudget of(final long millis, final LongSupplier clock) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time budget should not be negative");
+        }
+        Check.notNull(clock, "Clock should not be null");
+        if (millis == 0) {
+            return UNLIMITED;
+        }
+        return new TimeBudget(true, clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(millis), clock);
+    }
+
+    /**
+     * @return left time in nanoseconds, {@link Long#MAX_VALUE} for unlimited
+     *         budget.
+     */
+    public long remaining() {
+        if (!this.limited) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(this.deadline - this.clock.getAsLong(), 0);
+    }
+
+    public boolean isExhausted() {
+        return remaining() == 0;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionScheme;
+
+/**
+ * Cache of parsed versions and version constraints, so every distinct string
+ * is parsed only once per build.
+ */
+public class VersionCache {
+
+    private static final Object KEY = VersionCache.class;
+
+    private final VersionScheme scheme = new GenericVersionScheme();
+
+    private final ConcurrentMap<String, Optional<Version>> versions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Optional<VersionConstraint>> constraints = new ConcurrentHashMap<>();
+
+    /**
+     * @return cache that is bound to provided repository session.
+     */
+    public static VersionCache of(final RepositorySystemSession session) {
+        return SessionDataSupport.computeIfAbsent(session, KEY, VersionCache::new);
+    }
+
+    /**
+     * @return parsed version or <code>null</code> if it is not valid.
+     */
+    public Version getVersion(final String version) {
+        return this.versions.computeIfAbsent(version, v -> {
+            try {
+                return Optional.of(this.scheme.parseVersion(v));
+            } catch (InvalidVersionSpecificationException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @return parsed version constraint or <code>null</code> if it is not
+     *         valid.
+     */
+    public VersionConstraint getConstraint(final String constraint) {
+        return this.constraints.computeIfAbsent(constraint, c -> {
+            try {
+                return Optional.of(this.scheme.parseVersionConstraint(c));
+            } catch (InvalidVersionSpecificationException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @return number of cached versions and constraints.
+     */
+    public int size() {
+        return this.versions.size() + this.constraints.size();
+    }
+}
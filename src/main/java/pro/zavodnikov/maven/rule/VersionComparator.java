@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.Objects;
+
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+
+/**
+ * Decide if version of project dependency overwrites version of managed one.
+ */
+public class VersionComparator {
+
+    /**
+     * Compare versions as strings.
+     */
+    public static final VersionComparator STRING = new VersionComparator(VersionComparison.STRING, null);
+
+    private final VersionComparison comparison;
+
+    private final VersionCache cache;
+
+    /**
+     * @param comparison how versions are compared.
+     * @param cache      cache of parsed versions. Not used by
+     *                   {@link VersionComparison#STRING}.
+     */
+    public VersionComparator(final VersionComparison comparison, final VersionCache cache) {
+        this.comparison = Check.notNull(comparison, "Version comparison should not be null");
+        this.cache = comparison == VersionComparison.STRING ? null
+                : Check.notNull(cache, "Version cache should not be null");
+    }
+
+    /**
+     * @return <code>true</code> if project version does not overwrite managed
+     *         one.
+     */
+    public boolean isSame(final String projectVersion, final String managedVersion) {
+        if (Objects.equals(projectVersion, managedVersion)) {
+            return true;
+        }
+
+        switch (this.comparison) {
+            case RANGE:
+                final VersionConstraint constraint = this.cache.getConstraint(managedVersion);
+                if (constraint != null && constraint.getRange() != null) {
+                    final Version version = this.cache.getVersion(projectVersion);
+                    return version != null && constraint.containsVersion(version);
+                }
+                return isSameParsed(projectVersion, managedVersion);
+            case SEMANTIC:
+                return isSameParsed(projectVersion, managedVersion);
+            case STRING:
+            default:
+                return false;
+        }
+    }
+
+    private boolean isSameParsed(final String projectVersion, final String managedVersion) {
+        final Version project = this.cache.getVersion(projectVersion);
+        final Version managed = this.cache.getVersion(managedVersion);
+        return project != null && project.equals(managed);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+/**
+ * Project dependency that overwrites version or scope of managed dependency.
+ * Message is formatted only when it is requested.
+ */
+public final class Violation {
+
+    /**
+     * What is overwritten.
+     */
+    public enum Kind {
+        VERSION,
+        SCOPE
+    }
+
+    private final Kind kind;
+
+    private final RuleDependency projectDependency;
+
+    private final RuleDependency managedDependency;
+
+    public Violation(final Kind kind, final RuleDependency projectDependency,
+            final RuleDependency managedDependency) {
+        this.kind = Check.notNull(kind, "Kind should not be null");
+        this.projectDependency = Check.notNull(projectDependency, "Project dependency should not be null");
+        this.managedDependency = Check.notNull(managedDependency, "Managed dependency should not be null");
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    public RuleDependency getProjectDependency() {
+        return this.projectDependency;
+    }
+
+    public RuleDependency getManagedDependency() {
+        return this.managedDependency;
+    }
+
+    /**
+     * @return human readable description of the violation.
+     */
+    public String getMessage() {
+        if (this.kind == Kind.VERSION) {
+            return String.format("%s:%s:%s override by version %s",
+                    this.managedDependency.getGroupId(), this.managedDependency.getArtifactId(),
+                    this.managedDependency.getVersion(),
+                    this.projectDependency.getVersion());
+        }
+        return String.format("%s:%s:%s with scope %s override by scope %s",
+                this.managedDependency.getGroupId(), this.managedDependency.getArtifactId(),
+                this.managedDependency.getVersion(),
+                this.managedDependency.getScope(),
+                this.projectDependency.getScope());
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
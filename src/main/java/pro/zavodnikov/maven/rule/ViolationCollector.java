@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Check managed dependencies against project dependencies while they are
+ * found, so collection can be stopped as soon as enough violations are found.
+ */
+public class ViolationCollector {
+
+    private final DependencyIndex projIndex;
+
+    private final int limit;
+
+    private final VersionComparator versionComparator;
+
+    private final List<Violation> violations = new ArrayList<>();
+
+    /**
+     * @param projDeps dependencies of the project.
+     * @param limit    number of violations that is enough. Not positive value
+     *                 means no limit.
+     */
+    public ViolationCollector(final Collection<RuleDependency> projDeps, final int limit) {
+        this(projDeps, limit, VersionComparator.STRING);
+    }
+
+    /**
+     * @param projDeps          dependencies of the project.
+     * @param limit             number of violations that is enough. Not
+     *                          positive value means no limit.
+     * @param versionComparator how versions are compared.
+     */
+    public ViolationCollector(final Collection<RuleDependency> projDeps, final int limit,
+            final VersionComparator versionComparator) {
+        this.projIndex = new DependencyIndex(projDeps);
+        this.limit = limit;
+        this.versionComparator = Check.notNull(versionComparator, "Version comparator should not be null");
+    }
+
+    /**
+     * @return <code>true</code> if limit of violations is reached.
+     */
+    public boolean add(final RuleDependency depManDep) {
+        if (isFull()) {
+            return true;
+        }
+        for (RuleDependency projDep : this.projIndex.find(depManDep)) {
+            OverrideMatcher.compare(projDep, depManDep, this.versionComparator, this.violations);
+        }
+        return isFull();
+    }
+
+    public boolean isFull() {
+        return this.limit > 0 && this.violations.size() >= this.limit;
+    }
+
+    /**
+     * @return found violations in order of managed dependencies, but not more
+     *         than limit.
+     */
+    public List<Violation> getViolations() {
+        if (isFull()) {
+            return Collections.unmodifiableList(this.violations.subList(0, this.limit));
+        }
+        return Collections.unmodifiableList(this.violations);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of the rule. Loaded by {@link RuleEvents} only
+ * when runtime JDK has JFR.
+ * <p>
+ * The class is compiled for Java 11 into multi-release layer of the JAR, so
+ * the rest of the rule stays compatible with Java 8.
+ */
+final class JfrRuleEvents extends RuleEvents {
+
+    @Name(PREFIX + "Collect")
+    @Label("Collect Dependencies")
+    @Description("Collection of transitive dependencies of one root")
+    @Category({ "Maven", "No Overwrite Dependencies" })
+    static final class CollectEvent extends jdk.jfr.Event {
+
+        @Label("Root")
+        String root;
+
+        @Label("Nodes")
+        long nodes;
+    }
+
+    @Name(PREFIX + "Collection")
+    @Label("Collection Phase")
+    @Description("Collection of transitive dependencies of Dependency Management")
+    @Category({ "Maven", "No Overwrite Dependencies" })
+    static final class CollectionEvent extends jdk.jfr.Event {
+
+        @Label("Mode")
+        String mode;
+
+        @Label("Closure Size")
+        long closureSize;
+    }
+
+    @Name(PREFIX + "Matching")
+    @Label("Matching Phase")
+    @Description("Matching of project dependencies against managed ones")
+    @Category({ "Maven", "No Overwrite Dependencies" })
+    static final class MatchingEvent extends jdk.jfr.Event {
+
+        @Label("Project")
+        String project;
+
+        @Label("Violations")
+        long violations;
+    }
+
+    @Override
+    Event beginCollect() {
+        final CollectEvent event = new CollectEvent();
+        if (!event.isEnabled()) {
+            return NO_EVENT;
+        }
+        event.begin();
+        return (subject, count) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.root = subject;
+                event.nodes = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    Event beginCollection() {
+        final CollectionEvent event = new CollectionEvent();
+        if (!event.isEnabled()) {
+            return NO_EVENT;
+        }
+        event.begin();
+        return (subject, count) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.mode = subject;
+                event.closureSize = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    Event beginMatching() {
+        final MatchingEvent event = new MatchingEvent();
+        if (!event.isEnabled()) {
+            return NO_EVENT;
+        }
+        event.begin();
+        return (subject, count) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.project = subject;
+                event.violations = count;
+                event.commit();
+            }
+        };
+    }
+}
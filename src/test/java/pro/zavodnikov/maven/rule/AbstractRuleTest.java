@@ -35,13 +35,19 @@ import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.building.ModelBuildingResult;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.eclipse.aether.repository.NoLocalRepositoryManagerException;
 
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+
 /**
  * Class that have useful methods for testing Enforcer Plugin Rules.
  */
@@ -113,4 +119,45 @@ public abstract class AbstractRuleTest extends AbstractMojoTestCase {
     protected void initTestRepository(final MavenSession session) {
         initTestRepository(session, null);
     }
+
+    /**
+     * Create rule with injected project, new session for it and Maven
+     * components.
+     *
+     * @param repository local repository, <code>null</code> means default one.
+     */
+    protected <T> T newRule(final Class<T> ruleClass, final MavenProject project, final File repository) {
+        try {
+            final MavenSession session = newMavenSession(project);
+            assertNotNull(session);
+
+            final RepositorySystem repositorySystem = lookup(RepositorySystem.class);
+            assertNotNull(repositorySystem);
+
+            final ProjectDependenciesResolver dependenciesResolver = lookup(ProjectDependenciesResolver.class);
+            assertNotNull(dependenciesResolver);
+
+            initTestRepository(session, repository);
+
+            return Guice.createInjector(new AbstractModule() {
+                @Override
+                protected void configure() {
+                    bind(MavenProject.class).toInstance(project);
+                    bind(MavenSession.class).toInstance(session);
+                    bind(RepositorySystem.class).toInstance(repositorySystem);
+                    bind(ProjectDependenciesResolver.class).toInstance(dependenciesResolver);
+                }
+            }).getInstance(ruleClass);
+        } catch (ComponentLookupException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return JAR dependency without classifier.
+     */
+    public static RuleDependency dep(final String groupId, final String artifactId, final String version,
+            final String scope) {
+        return new RuleDependency(groupId, artifactId, null, "jar", version, scope);
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ArtifactKeyFilter}.
+ */
+public class ArtifactKeyFilterTest {
+
+    private static List<RuleDependency> deps(final String groupId, final int count) {
+        final List<RuleDependency> deps = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            deps.add(new RuleDependency(groupId, "artifact-" + i, null, "jar", "1.0.0", null));
+        }
+        return deps;
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        final List<RuleDependency> added = deps("com.example.managed", 10000);
+        final ArtifactKeyFilter filter = ArtifactKeyFilter.of(added);
+        for (RuleDependency d : added) {
+            assertTrue(filter.mightContain(d));
+        }
+
+        int falsePositives = 0;
+        for (RuleDependency d : deps("com.example.other", 10000)) {
+            if (filter.mightContain(d)) {
+                ++falsePositives;
+            }
+        }
+        assertTrue(falsePositives < 300, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testEmpty() {
+        final ArtifactKeyFilter filter = ArtifactKeyFilter.of(new ArrayList<>());
+        assertFalse(filter.mightContain("junit:junit"));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link BatchScanner}.
+ */
+public class BatchScannerTest {
+
+    private static final File RESOURCES = new File("src/test/resources");
+
+    private static final File REPOSITORY = new File(RESOURCES, "repository");
+
+    private static File resource(final String name) {
+        return new File(RESOURCES, name);
+    }
+
+    @Test
+    public void testScan() {
+        final List<BatchScanner.Result> results = new BatchScanner(REPOSITORY)
+                .setParallelism(4)
+                .scan(Arrays.asList(
+                        resource("correct-no-deps.xml"),
+                        resource("correct-with-deps.xml"),
+                        resource("wrong-version-transitive.xml"),
+                        resource("wrong-scope-parent0.xml"),
+                        resource("logback.xml")));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertNotNull(results.get(2).getFailure());
+        assertNotNull(results.get(3).getFailure());
+        assertNull(results.get(4).getFailure());
+        assertNotNull(results.get(4).getError());
+
+        final String report = BatchScanner.toReport(results);
+        assertTrue(report.startsWith("Checked 5 POM files: 2 passed, 2 failed, 1 not checked\n"), report);
+        assertTrue(report.contains("[FAILED] " + resource("wrong-version-transitive.xml").getPath()));
+    }
+
+    @Test
+    public void testFindPoms(@TempDir final File directory) throws IOException {
+        for (String path : new String[] { "pom.xml", "a/pom.xml", "a/b/pom.xml", "a/target/pom.xml",
+                ".git/pom.xml", "c/other.xml" }) {
+            final File file = new File(directory, path);
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.createFile(file.toPath());
+        }
+
+        assertEquals(Arrays.asList(
+                new File(directory, "a/b/pom.xml"),
+                new File(directory, "a/pom.xml"),
+                new File(directory, "pom.xml")),
+                BatchScanner.findPoms(directory));
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final int exitCode;
+        try (PrintStream out = new PrintStream(bytes, true, "UTF-8")) {
+            exitCode = BatchScanner.run(new String[] {
+                    "--local-repository", REPOSITORY.getPath(),
+                    "--collection-mode", "BATCH",
+                    resource("correct-with-deps.xml").getPath(),
+                    resource("wrong-version-parent1.xml").getPath(),
+            }, out);
+        }
+        assertEquals(1, exitCode);
+        assertTrue(new String(bytes.toByteArray(), StandardCharsets.UTF_8)
+                .contains("Checked 2 POM files: 1 passed, 1 failed, 0 not checked"));
+
+        assertEquals(2, BatchScanner.run(new String[] { "--parallelism" }, new PrintStream(new ByteArrayOutputStream())));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link BinaryCodec}.
+ */
+public class BinaryCodecTest {
+
+    private static final int MAGIC = 0x54455354;
+
+    private static final List<RuleDependency> DEPENDENCIES = Arrays.asList(
+            new RuleDependency("junit", "junit", null, "jar", "4.13.1", "test"),
+            new RuleDependency("org.hamcrest", "hamcrest-core", null, "jar", "1.3", "test"));
+
+    @TempDir
+    File tempDir;
+
+    private static void write(final File file, final File pom) throws IOException {
+        BinaryCodec.write(file, MAGIC, 1, out -> {
+            out.writeString("key");
+            out.writeBoolean(true);
+            out.writeInt(42);
+            out.writeStamps(BinaryCodec.Stamps.of(Arrays.asList(pom, new File(pom.getParentFile(), "missing.pom")),
+                    File::getAbsolutePath));
+            out.writeDependencies(DEPENDENCIES);
+        });
+    }
+
+    private static String read(final BinaryCodec.Input in) {
+        final String value = in.readString() + "," + in.readBoolean() + "," + in.readInt();
+        return value + "," + in.readStamps().isActual(File::new) + "," + in.readDependencies().equals(DEPENDENCIES);
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final File pom = new File(this.tempDir, "junit-4.13.1.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+        final File file = new File(this.tempDir, "target/file.bin");
+        write(file, pom);
+
+        assertEquals("key,true,42,true,true", BinaryCodec.read(file, MAGIC, 1, BinaryCodecTest::read));
+        assertEquals("key,true,42,true,true", BinaryCodec.map(file, MAGIC, 1, BinaryCodecTest::read));
+        assertEquals(Collections.singletonList("target"), Arrays.asList(this.tempDir.list((dir, name) ->
+                !name.endsWith(".pom")))); // Temporary file is moved.
+
+        Files.write(pom.toPath(), "<project></project>".getBytes(StandardCharsets.UTF_8));
+        assertEquals("key,true,42,false,true", BinaryCodec.read(file, MAGIC, 1, BinaryCodecTest::read));
+    }
+
+    @Test
+    public void testUnknownFormat() throws IOException {
+        final File pom = new File(this.tempDir, "junit-4.13.1.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+        final File file = new File(this.tempDir, "file.bin");
+
+        assertNull(BinaryCodec.read(file, MAGIC, 1, BinaryCodecTest::read));
+        assertNull(BinaryCodec.read(null, MAGIC, 1, BinaryCodecTest::read));
+
+        write(file, pom);
+        assertNull(BinaryCodec.read(file, MAGIC, 2, BinaryCodecTest::read));
+        assertNull(BinaryCodec.read(file, MAGIC + 1, 1, BinaryCodecTest::read));
+
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 4));
+        assertNull(BinaryCodec.read(file, MAGIC, 1, BinaryCodecTest::read));
+        assertNull(BinaryCodec.map(file, MAGIC, 1, BinaryCodecTest::read));
+    }
+
+    @Test
+    public void testCorruptedLength() throws IOException {
+        final File file = new File(this.tempDir, "file.bin");
+        for (int length : new int[] { Integer.MAX_VALUE, -1, 5 }) {
+            BinaryCodec.write(file, MAGIC, 1, out -> {
+                out.writeInt(length); // Length of the string without its bytes.
+                out.writeInt(0);
+            });
+            assertNull(BinaryCodec.read(file, MAGIC, 1, BinaryCodec.Input::readString));
+            assertNull(BinaryCodec.read(file, MAGIC, 1, BinaryCodec.Input::readStamps));
+            assertNull(BinaryCodec.read(file, MAGIC, 1, BinaryCodec.Input::readDependencies));
+        }
+    }
+
+    @Test
+    public void testStamps() throws IOException {
+        final File pom = new File(this.tempDir, "junit-4.13.1.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+
+        final BinaryCodec.Stamps stamps = BinaryCodec.Stamps.of(
+                Arrays.asList(pom, new File(this.tempDir, "missing.pom")), File::getName);
+        assertEquals(Collections.singletonList(pom.getName()), stamps.getPaths());
+        assertTrue(stamps.isActual(path -> new File(this.tempDir, path)));
+
+        Files.delete(pom.toPath());
+        assertFalse(stamps.isActual(path -> new File(this.tempDir, path)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link ClosureIndex}.
+ */
+public class ClosureIndexTest {
+
+    @TempDir
+    File tempDir;
+
+    private static final RuleDependency JUNIT = new RuleDependency("junit", "junit", null, "jar", "4.13.1", "test");
+
+    private static final RuleDependency HAMCREST = new RuleDependency("org.hamcrest", "hamcrest-core", null, "jar",
+            "1.3", "test");
+
+    private static final RuleDependency COMMONS_IO = new RuleDependency("commons-io", "commons-io", null, "jar",
+            "2.18.0", null);
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final File file = new File(this.tempDir, "target/parent.closure-index");
+        ClosureIndex.of("fingerprint", Arrays.asList(JUNIT, HAMCREST, COMMONS_IO)).write(file);
+
+        final ClosureIndex index = ClosureIndex.read(file);
+        assertEquals("fingerprint", index.getFingerprint());
+        assertEquals(Arrays.asList(COMMONS_IO, JUNIT, HAMCREST), index.getDependencies());
+        assertTrue(index.isActual("fingerprint"));
+        assertFalse(index.isActual("other"));
+    }
+
+    @Test
+    public void testUnknownFormat() throws IOException {
+        assertNull(ClosureIndex.read(new File(this.tempDir, "missing.closure-index")));
+        assertNull(ClosureIndex.read(null));
+
+        final File file = new File(this.tempDir, "broken.closure-index");
+        Files.write(file.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+        assertNull(ClosureIndex.read(file));
+
+        ClosureIndex.of("fingerprint", Arrays.asList(JUNIT, HAMCREST)).write(file);
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 4));
+        assertNull(ClosureIndex.read(file));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pro.zavodnikov.maven.rule.AbstractRuleTest.dep;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ClosureVisitor}.
+ */
+public class ClosureVisitorTest {
+
+    private static DefaultDependencyNode node(final String coordinates, final String scope) {
+        return new DefaultDependencyNode(new Dependency(new DefaultArtifact(coordinates), scope));
+    }
+
+    @Test
+    public void testDiamondAndCycle() {
+        final DefaultDependencyNode root = node("com.example:root:1", "test");
+        final DefaultDependencyNode left = node("com.example:left:1", "compile");
+        final DefaultDependencyNode right = node("com.example:right:1", "compile");
+        final DefaultDependencyNode bottom = node("com.example:bottom:1", "compile");
+        // Equal dependency in other node, e.g. from other path of not shared graph.
+        final DefaultDependencyNode bottomCopy = node("com.example:bottom:1", "compile");
+        final DefaultDependencyNode rootCopy = node("com.example:root:1", "test");
+
+        root.setChildren(Arrays.asList(left, right));
+        left.setChildren(Collections.singletonList(bottom));
+        right.setChildren(Arrays.asList(bottom, bottomCopy, rootCopy));
+        bottom.setChildren(Collections.singletonList(left)); // Cycle.
+
+        final ClosureVisitor visitor = new ClosureVisitor(RuleDependency::new,
+                new RuleDependency(root.getDependency()));
+        root.accept(visitor);
+        assertEquals(Arrays.asList(
+                dep("com.example", "left", "1", "compile"),
+                dep("com.example", "bottom", "1", "compile"),
+                dep("com.example", "right", "1", "compile")), visitor.getDependencies());
+    }
+
+    @Test
+    public void testRootWithoutDependency() {
+        final DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        root.setChildren(Arrays.asList(node("com.example:a:1", "runtime"), node("com.example:b:1", "compile")));
+
+        final ClosureVisitor visitor = new ClosureVisitor(RuleDependency::new, null);
+        root.accept(visitor);
+        assertEquals(Arrays.asList(
+                dep("com.example", "a", "1", "runtime"),
+                dep("com.example", "b", "1", "compile")), visitor.getDependencies());
+    }
+}
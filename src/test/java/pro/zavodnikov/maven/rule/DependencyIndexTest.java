@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pro.zavodnikov.maven.rule.AbstractRuleTest.dep;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link DependencyIndex}.
+ */
+public class DependencyIndexTest {
+
+    @Test
+    public void testFind() {
+        final RuleDependency junit1 = dep("junit", "junit", "4.13.1", "test");
+        final RuleDependency junit2 = dep("junit", "junit", "4.13.2", null);
+        final RuleDependency io = dep("commons-io", "commons-io", "2.18.0", null);
+
+        final DependencyIndex index = new DependencyIndex(Arrays.asList(junit1, io, junit2));
+        assertEquals(3, index.size());
+
+        assertEquals(Arrays.asList(junit1, junit2), index.find(dep("junit", "junit", "1.0", "compile")));
+        assertEquals(Arrays.asList(io), index.find(io));
+        assertTrue(index.find(dep("junit", "commons-io", "2.18.0", null)).isEmpty());
+        assertTrue(index.find(dep("org.hamcrest", "hamcrest-core", "1.3", null)).isEmpty());
+    }
+
+    @Test
+    public void testEqualDependenciesHaveSameHash() {
+        assertEquals(dep("junit", "junit", "4.13.1", "test").hashCode(),
+                dep("junit", "junit", "4.13.1", "test").hashCode());
+    }
+}
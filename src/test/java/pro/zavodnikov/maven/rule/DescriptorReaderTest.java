@@ -0,0 +1,293 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static pro.zavodnikov.maven.rule.AbstractRuleTest.dep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link DescriptorReader} and {@link PomReader}.
+ */
+public class DescriptorReaderTest {
+
+    private static void writePom(final DescriptorReader reader, final String groupId, final String artifactId,
+            final String version, final String body) throws IOException {
+        final File pom = reader.getPom(groupId, artifactId, version);
+        Files.createDirectories(pom.getParentFile().toPath());
+        Files.write(pom.toPath(), ("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+                + "    <modelVersion>4.0.0</modelVersion>\n"
+                + body
+                + "</project>\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getGav(final String groupId, final String artifactId, final String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    /*
+     * Direct dependencies that are inherited by dependents according to
+     * descriptor of resolver.
+     */
+    private static List<String> readByResolver(final StandaloneRuleFactory factory, final RuleDependency pom)
+            throws ArtifactDescriptorException {
+        final ArtifactDescriptorRequest request = new ArtifactDescriptorRequest(
+                new DefaultArtifact(pom.getGroupId(), pom.getArtifactId(), "pom", pom.getVersion()), null, null);
+        final List<String> deps = new ArrayList<>();
+        for (org.eclipse.aether.graph.Dependency d : factory.getRepositorySystem()
+                .readArtifactDescriptor(factory.newRepositorySession(), request).getDependencies()) {
+            if (!d.isOptional() && !"test".equals(d.getScope()) && !"provided".equals(d.getScope())) {
+                deps.add(getGav(d.getArtifact().getGroupId(), d.getArtifact().getArtifactId(),
+                        d.getArtifact().getVersion()));
+            }
+        }
+        return deps;
+    }
+
+    @Test
+    public void testSameAsResolver() throws ArtifactDescriptorException {
+        final File repository = new File("src/test/resources/repository");
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        final StandaloneRuleFactory factory = new StandaloneRuleFactory(repository);
+
+        final List<RuleDependency> poms = Arrays.asList(
+                dep("commons-io", "commons-io", "2.18.0", null),
+                dep("commons-io", "commons-io", "2.19.0", null),
+                dep("junit", "junit", "4.13.1", null),
+                dep("junit", "junit", "4.13.2", null),
+                dep("org.hamcrest", "hamcrest-core", "1.3", null),
+                dep("org.hamcrest", "hamcrest-library", "1.3", null));
+        for (RuleDependency pom : poms) {
+            assertEquals(readByResolver(factory, pom), reader.getDependencies(pom).stream()
+                    .map(d -> getGav(d.getGroupId(), d.getArtifactId(), d.getVersion()))
+                    .collect(Collectors.toList()), pom.toString());
+        }
+        // Test scope is skipped and property is interpolated.
+        assertEquals(Arrays.asList(dep("org.hamcrest", "hamcrest-core", "1.3", null)),
+                reader.getDependencies(dep("junit", "junit", "4.13.1", "test")));
+        assertNull(reader.getDependencies(dep("junit", "junit", "3.8.1", null))); // Not in repository.
+    }
+
+    @Test
+    public void testInheritanceAndImport(@TempDir final File repository) throws IOException {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        writePom(reader, "com.example", "bom", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>bom</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <dependencyManagement><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>imported</artifactId>"
+                + "<version>3</version><scope>runtime</scope></dependency>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>inherited</artifactId>"
+                + "<version>0</version></dependency>\n"
+                + "    </dependencies></dependencyManagement>\n");
+        writePom(reader, "com.example", "parent", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>parent</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <properties><inherited.version>1</inherited.version></properties>\n"
+                + "    <dependencyManagement><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>inherited</artifactId>"
+                + "<version>${inherited.version}</version></dependency>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>bom</artifactId>"
+                + "<version>${project.version}</version><type>pom</type><scope>import</scope></dependency>\n"
+                + "    </dependencies></dependencyManagement>\n"
+                + "    <dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>junit</artifactId>"
+                + "<version>4</version><scope>test</scope></dependency>\n"
+                + "    </dependencies>\n");
+        writePom(reader, "com.example", "child", "1", ""
+                + "    <parent><groupId>com.example</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent>\n"
+                + "    <artifactId>child</artifactId>\n"
+                + "    <properties><inherited.version>2</inherited.version></properties>\n"
+                + "    <dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>inherited</artifactId></dependency>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>imported</artifactId></dependency>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>optional</artifactId>"
+                + "<version>1</version><optional>true</optional></dependency>\n"
+                + "    </dependencies>\n"
+                + "    <build><plugins><plugin><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>plugin</artifactId>"
+                + "<version>1</version></dependency>\n"
+                + "    </dependencies></plugin></plugins></build>\n");
+
+        assertEquals(Arrays.asList(
+                dep("com.example", "inherited", "2", null),
+                dep("com.example", "imported", "3", "runtime")),
+                reader.getDependencies(dep("com.example", "child", "1", null)));
+    }
+
+    @Test
+    public void testPomChain(@TempDir final File repository) throws IOException {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        writePom(reader, "com.example", "bom", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>bom</artifactId>\n"
+                + "    <version>1</version>\n");
+        writePom(reader, "com.example", "parent", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>parent</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <dependencyManagement><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>bom</artifactId>"
+                + "<version>${project.version}</version><type>pom</type><scope>import</scope></dependency>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>missing-bom</artifactId>"
+                + "<version>1</version><type>pom</type><scope>import</scope></dependency>\n"
+                + "    </dependencies></dependencyManagement>\n");
+        writePom(reader, "com.example", "child", "1", ""
+                + "    <parent><groupId>com.example</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent>\n"
+                + "    <artifactId>child</artifactId>\n"
+                + "    <profiles><profile><id>java11</id><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>a</artifactId>"
+                + "<version>1</version></dependency>\n"
+                + "    </dependencies></profile></profiles>\n");
+
+        // Chain is known even for POM that is not supported by the reader.
+        assertNull(reader.getDependencies(dep("com.example", "child", "1", null)));
+        assertEquals(new HashSet<>(Arrays.asList(
+                reader.getPom("com.example", "child", "1"),
+                reader.getPom("com.example", "parent", "1"),
+                reader.getPom("com.example", "bom", "1"),
+                reader.getPom("com.example", "missing-bom", "1"))),
+                reader.getPomChain("com.example", "child", "1"));
+    }
+
+    @Test
+    public void testUnknownProperty(@TempDir final File repository) throws IOException {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        writePom(reader, "com.example", "unknown", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>unknown</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>a</artifactId>"
+                + "<version>${env.VERSION}</version></dependency>\n"
+                + "    </dependencies>\n");
+        assertNull(reader.getDependencies(dep("com.example", "unknown", "1", null)));
+    }
+
+    @Test
+    public void testProfilesAndRelocation(@TempDir final File repository) throws IOException {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        writePom(reader, "com.example", "release", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>release</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <profiles><profile><id>release</id><build/></profile></profiles>\n");
+        writePom(reader, "com.example", "profile", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>profile</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <profiles><profile><id>java11</id><dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>a</artifactId>"
+                + "<version>1</version></dependency>\n"
+                + "    </dependencies></profile></profiles>\n");
+        writePom(reader, "com.example", "child", "1", ""
+                + "    <parent><groupId>com.example</groupId><artifactId>profile</artifactId>"
+                + "<version>1</version></parent>\n"
+                + "    <artifactId>child</artifactId>\n");
+        writePom(reader, "com.example", "relocated", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>relocated</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <distributionManagement><relocation><artifactId>other</artifactId></relocation>"
+                + "</distributionManagement>\n");
+
+        assertEquals(Collections.emptyList(), reader.getDependencies(dep("com.example", "release", "1", null)));
+        assertNull(reader.getDependencies(dep("com.example", "profile", "1", null)));
+        assertNull(reader.getDependencies(dep("com.example", "child", "1", null)));
+        assertNull(reader.getDependencies(dep("com.example", "relocated", "1", null)));
+    }
+
+    @Test
+    public void testParentCycle(@TempDir final File repository) throws IOException {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        for (String[] pair : new String[][] { { "a", "b" }, { "b", "a" } }) {
+            writePom(reader, "com.example", pair[0], "1", ""
+                    + "    <parent><groupId>com.example</groupId><artifactId>" + pair[1] + "</artifactId>"
+                    + "<version>1</version></parent>\n"
+                    + "    <artifactId>" + pair[0] + "</artifactId>\n");
+        }
+        assertNull(reader.getDependencies(dep("com.example", "a", "1", null)));
+        assertNull(reader.getDependencies(dep("com.example", "b", "1", null)));
+    }
+
+    @Test
+    public void testConcurrentReads(@TempDir final File repository) throws Exception {
+        final DescriptorReader reader = new DescriptorReader(repository, null);
+        writePom(reader, "com.example", "parent", "1", ""
+                + "    <groupId>com.example</groupId>\n"
+                + "    <artifactId>parent</artifactId>\n"
+                + "    <version>1</version>\n"
+                + "    <dependencies>\n"
+                + "        <dependency><groupId>com.example</groupId><artifactId>a</artifactId>"
+                + "<version>1</version></dependency>\n"
+                + "    </dependencies>\n");
+        final int children = 64;
+        for (int i = 0; i < children; ++i) {
+            writePom(reader, "com.example", "child-" + i, "1", ""
+                    + "    <parent><groupId>com.example</groupId><artifactId>parent</artifactId>"
+                    + "<version>1</version></parent>\n"
+                    + "    <artifactId>child-" + i + "</artifactId>\n");
+        }
+
+        // Parent that is being read by other thread is not reported as unknown.
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<List<RuleDependency>>> results = new ArrayList<>();
+            for (int i = 0; i < children; ++i) {
+                final RuleDependency child = dep("com.example", "child-" + i, "1", null);
+                results.add(executor.submit(() -> reader.getDependencies(child)));
+            }
+            for (Future<List<RuleDependency>> result : results) {
+                assertEquals(Arrays.asList(dep("com.example", "a", "1", null)), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link IncrementalState}.
+ */
+public class IncrementalStateTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final File pom = new File(this.tempDir, "junit-4.13.1.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+
+        final File stateFile = new File(this.tempDir, "target/rule.state");
+        assertNull(IncrementalState.read(stateFile));
+
+        final String fingerprint = Fingerprint.of("inputs");
+        IncrementalState.of(fingerprint, "Failure", Collections.singleton(pom)).write(stateFile);
+
+        final IncrementalState state = IncrementalState.read(stateFile);
+        assertEquals("Failure", state.getFailure());
+        assertTrue(state.isActual(fingerprint));
+        assertFalse(state.isActual(Fingerprint.of("other inputs")));
+
+        Files.write(pom.toPath(), "<project></project>".getBytes(StandardCharsets.UTF_8));
+        assertFalse(IncrementalState.read(stateFile).isActual(fingerprint));
+    }
+
+    @Test
+    public void testFingerprint() throws IOException {
+        assertEquals(Fingerprint.of("a"), new Fingerprint().add("a").toHex());
+        assertNotEquals(new Fingerprint().add("ab").add("c").toHex(), new Fingerprint().add("a").add("bc").toHex());
+
+        final File file = new File(this.tempDir, "file");
+        final String missing = new Fingerprint().addContent(file).toHex();
+        Files.write(file.toPath(), new byte[0]);
+        final String empty = new Fingerprint().addContent(file).toHex();
+        assertNotEquals(missing, empty);
+        Files.write(file.toPath(), "a".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(empty, new Fingerprint().addContent(file).toHex());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link JvmClosureCache}.
+ */
+public class JvmClosureCacheTest {
+
+    @TempDir
+    File tempDir;
+
+    private static final List<RuleDependency> CLOSURE = Arrays.asList(
+            new RuleDependency("org.hamcrest", "hamcrest-core", null, "jar", "1.3", null),
+            new RuleDependency("org.hamcrest", "hamcrest-library", null, "jar", "1.3", "test"));
+
+    @Test
+    public void testPutAndGet() {
+        final JvmClosureCache cache = new JvmClosureCache(10, 1024 * 1024);
+        assertNull(cache.get("junit:junit:4.13.1"));
+
+        cache.put("junit:junit:4.13.1", CLOSURE, Collections.emptyList());
+        assertEquals(CLOSURE, cache.get("junit:junit:4.13.1"));
+        assertNull(cache.get("junit:junit:4.13.2"));
+        assertEquals(1, cache.size());
+        assertTrue(cache.getBytes() > 0);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+        assertNull(cache.get("junit:junit:4.13.1"));
+    }
+
+    @Test
+    public void testEvictionByEntries() {
+        final JvmClosureCache cache = new JvmClosureCache(2, 1024 * 1024);
+        cache.put("a", CLOSURE, Collections.emptyList());
+        cache.put("b", CLOSURE, Collections.emptyList());
+        cache.get("a"); // "b" becomes least recently used.
+        cache.put("c", CLOSURE, Collections.emptyList());
+
+        assertEquals(2, cache.size());
+        assertEquals(CLOSURE, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(CLOSURE, cache.get("c"));
+
+        cache.setLimits(1, 1024 * 1024);
+        assertEquals(1, cache.size());
+        assertEquals(CLOSURE, cache.get("c"));
+    }
+
+    @Test
+    public void testEvictionByBytes() {
+        final JvmClosureCache cache = new JvmClosureCache(10, 1024 * 1024);
+        cache.put("a", CLOSURE, Collections.emptyList());
+        final long entryBytes = cache.getBytes();
+
+        cache.setLimits(10, 2 * entryBytes);
+        cache.put("b", CLOSURE, Collections.emptyList());
+        cache.put("c", CLOSURE, Collections.emptyList());
+
+        assertEquals(2, cache.size());
+        assertEquals(2 * entryBytes, cache.getBytes());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testInvalidation() throws IOException {
+        final File pom = new File(this.tempDir, "junit-4.13.1.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+
+        final JvmClosureCache cache = new JvmClosureCache(10, 1024 * 1024);
+        cache.put("junit:junit:4.13.1", CLOSURE, Collections.singleton(pom));
+        assertEquals(CLOSURE, cache.get("junit:junit:4.13.1"));
+
+        Files.write(pom.toPath(), "<project></project>".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.get("junit:junit:4.13.1"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testWrongLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new JvmClosureCache(0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new JvmClosureCache(1, 0));
+    }
+
+    @Test
+    public void testSharedInstances() {
+        assertSame(JvmClosureCache.getInstance(), JvmClosureCache.getInstance(
+                JvmClosureCache.DEFAULT_MAX_ENTRIES, JvmClosureCache.DEFAULT_MAX_BYTES));
+        assertSame(JvmClosureCache.getInstance(1, 1024), JvmClosureCache.getInstance(1, 1024));
+
+        // Other limits do not evict entries of the default cache.
+        final JvmClosureCache cache = JvmClosureCache.getInstance();
+        cache.put("testSharedInstances", CLOSURE, Collections.emptyList());
+        try {
+            assertNotSame(cache, JvmClosureCache.getInstance(1, 1));
+            assertEquals(CLOSURE, cache.get("testSharedInstances"));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    public void testInstancesAreBounded() {
+        final JvmClosureCache first = JvmClosureCache.getInstance(2, 2048);
+        for (int i = 0; i < JvmClosureCache.MAX_INSTANCES; ++i) {
+            JvmClosureCache.getInstance(3, 1024 + i);
+        }
+        assertNotSame(first, JvmClosureCache.getInstance(2, 2048)); // Least recently used is dropped.
+    }
+}
@@ -23,55 +23,73 @@
  */
 package pro.zavodnikov.maven.rule;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Parent;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.apache.maven.project.ProjectDependenciesResolver;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 import org.junit.jupiter.api.Test;
-
-import com.google.inject.AbstractModule;
-import com.google.inject.Guice;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for {@link NoOverwriteDependencies}.
  */
 public class NoOverwriteDependenciesTest extends AbstractRuleTest {
 
-    private void applyRuleTo(final String projectPomName) throws EnforcerRuleException {
-        try {
-            final MavenProject project = readMavenProject(projectPomName);
-            assertNotNull(project);
+    private void applyRuleTo(final MavenProject project, final File repository,
+            final Consumer<NoOverwriteDependencies> configurator) throws EnforcerRuleException {
+        final NoOverwriteDependencies rule = newRule(NoOverwriteDependencies.class, project, repository);
+        final EnforcerLogger log = new MockEnforcerLogger(false, false, false, false);
+        rule.setLog(log);
+        configurator.accept(rule);
 
-            final MavenSession session = newMavenSession(project);
-            assertNotNull(session);
+        rule.execute();
+    }
 
-            final RepositorySystem repositorySystem = lookup(RepositorySystem.class);
-            assertNotNull(repositorySystem);
+    private void applyRuleTo(final String projectPomName, final Consumer<NoOverwriteDependencies> configurator)
+            throws EnforcerRuleException {
+        final MavenProject project = readMavenProject(projectPomName);
+        assertNotNull(project);
 
-            initTestRepository(session, new File("src/test/resources/repository"));
+        applyRuleTo(project, new File("src/test/resources/repository"), configurator);
+    }
 
-            final NoOverwriteDependencies rule = Guice.createInjector(new AbstractModule() {
-                @Override
-                protected void configure() {
-                    bind(MavenProject.class).toInstance(project);
-                    bind(MavenSession.class).toInstance(session);
-                    bind(RepositorySystem.class).toInstance(repositorySystem);
-                }
-            }).getInstance(NoOverwriteDependencies.class);
+    private void applyRuleTo(final String projectPomName) throws EnforcerRuleException {
+        applyRuleTo(projectPomName, rule -> {
+        });
+    }
 
-            final EnforcerLogger log = new MockEnforcerLogger(false, false, false, false);
-            rule.setLog(log);
+    private void applyProjectRuleTo(final String projectPomName) throws EnforcerRuleException {
+        applyRuleTo(projectPomName, rule -> rule.setCollectionMode(CollectionMode.PROJECT));
+    }
 
-            rule.execute();
-        } catch (ComponentLookupException e) {
-            throw new RuntimeException(e);
-        }
+    private void applyBatchRuleTo(final String projectPomName) throws EnforcerRuleException {
+        applyRuleTo(projectPomName, rule -> rule.setCollectionMode(CollectionMode.BATCH));
     }
 
     @Test
@@ -113,4 +131,625 @@ public class NoOverwriteDependenciesTest extends AbstractRuleTest {
     public void testNoOverwriteWrongTransitiveScope() throws EnforcerRuleException {
         assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-transitive.xml"));
     }
+
+    @Test
+    public void testBatchProjectWithDependencies() throws EnforcerRuleException {
+        applyBatchRuleTo("correct-with-deps.xml");
+    }
+
+    @Test
+    public void testBatchNoOverwriteWrongVersionParentLevel2() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyBatchRuleTo("wrong-version-parent0.xml"));
+    }
+
+    @Test
+    public void testBatchNoOverwriteWrongScopeParentLevel1() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyBatchRuleTo("wrong-scope-parent1.xml"));
+    }
+
+    @Test
+    public void testBatchNoOverwriteWrongTransitiveVersion() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyBatchRuleTo("wrong-version-transitive.xml"));
+    }
+
+    @Test
+    public void testBatchNoOverwriteWrongTransitiveScope() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyBatchRuleTo("wrong-scope-transitive.xml"));
+    }
+
+    /**
+     * @return message of the rule failure and size of collected closure.
+     */
+    private String getVerdict(final MavenProject project, final File repository, final CollectionMode mode) {
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        String failure = null;
+        try {
+            applyRuleTo(project, repository, rule -> {
+                rule.setCollectionMode(mode);
+                rule.setSessionCache(false);
+                executed[0] = rule;
+            });
+        } catch (EnforcerRuleException e) {
+            failure = e.getMessage();
+        }
+        return failure + ", closure size " + executed[0].getMetrics().getClosureSize();
+    }
+
+    @Test
+    public void testBatchSameAsPerRoot() throws IOException {
+        final File[] poms = new File("src/test/resources").listFiles(
+                (dir, name) -> name.endsWith(".xml") && (name.startsWith("correct-") || name.startsWith("wrong-")));
+        Arrays.sort(poms);
+        for (File pom : poms) {
+            final MavenProject project = readMavenProject(pom.getName());
+            final File repository = new File("src/test/resources/repository");
+            assertEquals(pom.getName(), getVerdict(project, repository, CollectionMode.PER_ROOT),
+                    getVerdict(project, repository, CollectionMode.BATCH));
+        }
+    }
+
+    @Test
+    public void testBatchSameAsPerRootSyntheticRepository(@TempDir final File repositoryDir) throws IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 10, 3, 3, 6);
+        repository.setBom(true);
+        repository.generate();
+
+        final org.apache.maven.model.Dependency testScope = repository.managed(1);
+        testScope.setScope("test");
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        project.getDependencyManagement().getDependencies().set(1, testScope);
+        project.getDependencies().add(repository.shared(2, 0));
+        assertEquals(getVerdict(project, repositoryDir, CollectionMode.PER_ROOT),
+                getVerdict(project, repositoryDir, CollectionMode.BATCH));
+    }
+
+    @Test
+    public void testPersistentCache(@TempDir final File cacheDir) throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> {
+            rule.setPersistentCache(true);
+            rule.setPersistentCacheDirectory(cacheDir);
+        };
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertTrue(cacheDir.list().length > 0);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        applyRuleTo("correct-with-deps.xml", configurator);
+    }
+
+    @Test
+    public void testJvmCache() throws EnforcerRuleException {
+        JvmClosureCache.getInstance().clear();
+        try {
+            final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+            final Consumer<NoOverwriteDependencies> configurator = rule -> {
+                rule.setJvmCache(true);
+                executed[0] = rule;
+            };
+
+            applyRuleTo("correct-with-deps.xml", configurator);
+            assertEquals(3, executed[0].getMetrics().getCollectCalls());
+            assertEquals(3, executed[0].getMetrics().getJvmCacheMisses());
+            assertEquals(3, JvmClosureCache.getInstance().size());
+
+            // New session, but the same JVM.
+            applyRuleTo("correct-with-deps.xml", configurator);
+            assertEquals(0, executed[0].getMetrics().getCollectCalls());
+            assertEquals(3, executed[0].getMetrics().getJvmCacheHits());
+        } finally {
+            JvmClosureCache.getInstance().clear();
+        }
+    }
+
+    /*
+     * Clock that jumps one hour on every read, so any budget is exhausted at
+     * the first check regardless of machine speed.
+     */
+    private static LongSupplier expiringClock() {
+        final AtomicLong time = new AtomicLong();
+        return () -> time.getAndAdd(TimeUnit.HOURS.toNanos(1));
+    }
+
+    @Test
+    public void testTimeBudget() throws EnforcerRuleException {
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo("correct-with-deps.xml", rule -> {
+                    rule.setTimeBudget(1);
+                    rule.setClock(expiringClock());
+                }));
+        assertTrue(e.getMessage().contains("Collection did not finish in time"));
+
+        applyRuleTo("wrong-version-transitive.xml", rule -> {
+            rule.setTimeBudget(1);
+            rule.setClock(expiringClock());
+            rule.setBudgetPolicy(BudgetPolicy.WARN);
+        });
+
+        final Consumer<NoOverwriteDependencies> partial = rule -> {
+            rule.setTimeBudget(1);
+            rule.setClock(expiringClock());
+            rule.setBudgetPolicy(BudgetPolicy.PARTIAL);
+        };
+        applyRuleTo("wrong-version-transitive.xml", partial); // Transitive dependencies are not evaluated.
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-parent0.xml", partial));
+    }
+
+    @Test
+    public void testRootTimeout() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule.setRootTimeout(60_000);
+        applyRuleTo("correct-with-deps.xml", configurator);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", rule -> {
+            rule.setRootTimeout(60_000);
+            rule.setCollectionMode(CollectionMode.BATCH);
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new NoOverwriteDependencies().setRootTimeout(-1));
+    }
+
+    @Test
+    public void testParallelCollection() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule.setParallelism(4);
+        applyRuleTo("correct-with-deps.xml", configurator);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-transitive.xml", configurator));
+    }
+
+    @Test
+    public void testSyntheticRepository(@TempDir final File repositoryDir) throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 20, 3, 3, 10).generate();
+
+        final MavenProject correct = repository.newProject(Arrays.asList(repository.managed(0)));
+        applyRuleTo(correct, repositoryDir, rule -> {
+        });
+
+        final org.apache.maven.model.Dependency transitive = repository.shared(3, 0);
+        transitive.setVersion("2.0.0");
+        final MavenProject wrong = repository.newProject(Arrays.asList(repository.managed(0), transitive));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo(wrong, repositoryDir, rule -> {
+        }));
+    }
+
+    @Test
+    public void testIncremental(@TempDir final File stateDir) throws EnforcerRuleException, IOException {
+        final File stateFile = new File(stateDir, "rule.state");
+        final Consumer<NoOverwriteDependencies> configurator = rule -> {
+            rule.setIncremental(true);
+            rule.setIncrementalStateFile(stateFile);
+        };
+
+        applyRuleTo("correct-with-deps.xml", configurator);
+        final IncrementalState passed = IncrementalState.read(stateFile);
+        assertNotNull(passed);
+        assertNull(passed.getFailure());
+        assertFalse(passed.getPomPaths().isEmpty());
+        applyRuleTo("correct-with-deps.xml", configurator);
+
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        final IncrementalState failed = IncrementalState.read(stateFile);
+        assertNotNull(failed.getFailure());
+        assertNotEquals(passed.getFingerprint(), failed.getFingerprint());
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+    }
+
+    @Test
+    public void testClosureIndex(@TempDir final File buildDir) throws EnforcerRuleException {
+        final MavenProject parent = readMavenProject("parent1.xml");
+        parent.getBuild().setDirectory(buildDir.getAbsolutePath());
+        applyRuleTo(parent, new File("src/test/resources/repository"), rule -> rule.setPublishClosureIndex(true));
+        assertEquals(1, parent.getAttachedArtifacts().size());
+        assertTrue(parent.getAttachedArtifacts().get(0).getFile().isFile());
+
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        final Consumer<NoOverwriteDependencies> configurator = rule -> {
+            rule.setUseClosureIndex(true);
+            executed[0] = rule;
+        };
+
+        final MavenProject correct = readMavenProject("correct-with-deps.xml");
+        correct.setParent(parent);
+        applyRuleTo(correct, new File("src/test/resources/repository"), configurator);
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+
+        final MavenProject wrong = readMavenProject("wrong-version-transitive.xml");
+        wrong.setParent(parent);
+        assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo(wrong, new File("src/test/resources/repository"), configurator));
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+
+        // Index of parent is stale for module with its own Dependency Management.
+        final MavenProject stale = readMavenProject("wrong-version-transitive.xml");
+        stale.setParent(parent);
+        stale.getDependencyManagement()
+                .addDependency(SyntheticRepository.dependency("org.hamcrest", "hamcrest-core", "1.3", "test"));
+        assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo(stale, new File("src/test/resources/repository"), configurator));
+        assertTrue(executed[0].getMetrics().getCollectCalls() > 0);
+
+        // Without parent project index is resolved from repositories, where it does not exist.
+        applyRuleTo(readMavenProject("correct-with-deps.xml"), new File("src/test/resources/repository"),
+                configurator);
+        assertTrue(executed[0].getMetrics().getCollectCalls() > 0);
+    }
+
+    /*
+     * Change content and length of the POM, so its stamp is changed even on
+     * file systems with coarse modification time.
+     */
+    private static void touch(final File pom) throws IOException {
+        Files.write(pom.toPath(), "<!-- changed -->\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void testImportedBomInvalidatesCaches(@TempDir final File tempDir)
+            throws EnforcerRuleException, IOException {
+        final File repositoryDir = new File(tempDir, "repository");
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4);
+        repository.setBom(true);
+        repository.generate();
+        final File bom = repository.getPom(
+                SyntheticRepository.dependency(SyntheticRepository.BOM_GROUP_ID, SyntheticRepository.BOM_ARTIFACT_ID,
+                        SyntheticRepository.VERSION, null));
+
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        final File stateFile = new File(tempDir, "rule.state");
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        final Consumer<NoOverwriteDependencies> configurator = rule -> {
+            rule.setPersistentCache(true);
+            rule.setPersistentCacheDirectory(new File(tempDir, "cache"));
+            rule.setIncremental(true);
+            rule.setIncrementalStateFile(stateFile);
+            executed[0] = rule;
+        };
+
+        applyRuleTo(project, repositoryDir, configurator);
+        assertTrue(IncrementalState.read(stateFile).getPomPaths().contains(bom.getAbsolutePath()));
+        applyRuleTo(project, repositoryDir, configurator);
+        assertEquals(0, executed[0].getMetrics().getClosureSize()); // Result of previous execution is reused.
+
+        touch(bom);
+        applyRuleTo(project, repositoryDir, configurator);
+        assertTrue(executed[0].getMetrics().getClosureSize() > 0);
+        assertEquals(0, executed[0].getMetrics().getPersistentCacheHits());
+        assertTrue(executed[0].getMetrics().getPersistentCacheMisses() > 0);
+
+        // Index that was published before the change is stale.
+        final MavenProject parent = repository.newProject(Collections.emptyList());
+        parent.getBuild().setDirectory(new File(tempDir, "parent").getAbsolutePath());
+        applyRuleTo(parent, repositoryDir, rule -> rule.setPublishClosureIndex(true));
+
+        final MavenProject module = repository.newProject(Arrays.asList(repository.managed(0)));
+        final Parent parentRef = new Parent();
+        parentRef.setGroupId(parent.getGroupId());
+        parentRef.setArtifactId(parent.getArtifactId());
+        parentRef.setVersion(parent.getVersion());
+        module.getModel().setParent(parentRef);
+        module.setParent(parent);
+        final Consumer<NoOverwriteDependencies> indexConfigurator = rule -> {
+            rule.setUseClosureIndex(true);
+            executed[0] = rule;
+        };
+        applyRuleTo(module, repositoryDir, indexConfigurator);
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+
+        // Released transitive POM is not compared, so index is still used.
+        touch(repository.getPom(repository.shared(1, 0)));
+        applyRuleTo(module, repositoryDir, indexConfigurator);
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+
+        touch(bom);
+        applyRuleTo(module, repositoryDir, indexConfigurator);
+        assertTrue(executed[0].getMetrics().getCollectCalls() > 0);
+    }
+
+    @Test
+    public void testMetrics(@TempDir final File metricsDir) throws EnforcerRuleException, IOException {
+        final File metricsFile = new File(metricsDir, "metrics.json");
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        applyRuleTo("correct-with-deps.xml", rule -> {
+            rule.setMetrics(true);
+            rule.setMetricsFile(metricsFile);
+            executed[0] = rule;
+        });
+
+        final RuleMetrics metrics = executed[0].getMetrics();
+        assertEquals(3, metrics.getCollectCalls()); // commons-io, junit and hamcrest-core.
+        assertEquals(3, metrics.getClosureSize());
+        assertEquals(3, metrics.getSessionCacheMisses());
+        assertTrue(metrics.getPhases().containsKey("collection"));
+
+        final String json = new String(Files.readAllBytes(metricsFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"collectCalls\": 3"));
+        assertTrue(json.contains("\"root\": \"junit:junit::jar:4.13.1:compile\""));
+    }
+
+    @Test
+    public void testTransitiveScopeOfTestDependency() throws EnforcerRuleException {
+        applyRuleTo("correct-scope-transitive.xml");
+        applyBatchRuleTo("correct-scope-transitive.xml");
+        applyProjectRuleTo("correct-scope-transitive.xml");
+        applyRuleTo("correct-scope-transitive.xml", rule -> rule.setCollectionMode(CollectionMode.DESCRIPTOR));
+
+        assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo("correct-scope-transitive.xml", rule -> rule.setScopeMediation(true)));
+    }
+
+    @Test
+    public void testProjectGraphWithDependencies() throws EnforcerRuleException {
+        applyProjectRuleTo("correct-with-deps.xml");
+    }
+
+    @Test
+    public void testProjectGraphNoOverwriteWrongVersionParentLevel1() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyProjectRuleTo("wrong-version-parent1.xml"));
+    }
+
+    @Test
+    public void testProjectGraphNoOverwriteWrongScopeParentLevel2() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyProjectRuleTo("wrong-scope-parent0.xml"));
+    }
+
+    @Test
+    public void testProjectGraphNoOverwriteWrongTransitiveVersion() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyProjectRuleTo("wrong-version-transitive.xml"));
+    }
+
+    @Test
+    public void testProjectGraphNoOverwriteWrongTransitiveScope() throws EnforcerRuleException {
+        assertThrows(EnforcerRuleException.class, () -> applyProjectRuleTo("wrong-scope-transitive.xml"));
+    }
+
+    @Test
+    public void testDemandDrivenNoDeclaredDependencies() throws EnforcerRuleException {
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        applyRuleTo("correct-no-deps.xml", rule -> {
+            rule.setDemandDriven(true);
+            executed[0] = rule;
+        });
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+    }
+
+    @Test
+    public void testDemandDriven() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule.setDemandDriven(true);
+        applyRuleTo("correct-with-deps.xml", configurator);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-parent0.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-parent1.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-transitive.xml", configurator));
+    }
+
+    @Test
+    public void testFailFast() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule.setMaxViolations(1);
+        applyRuleTo("correct-with-deps.xml", configurator);
+
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo("wrong-scope-transitive.xml", configurator));
+        assertTrue(e.getMessage().contains("Check was stopped after 1 violations"));
+        assertEquals(1, e.getMessage().split("\n - ").length - 1);
+
+        assertThrows(EnforcerRuleException.class, () -> applyBatchRuleTo("wrong-version-transitive.xml"));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", rule -> {
+            rule.setCollectionMode(CollectionMode.BATCH);
+            rule.setMaxViolations(1);
+        }));
+    }
+
+    @Test
+    public void testOffline() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule.setOffline(true);
+        applyRuleTo("correct-with-deps.xml", configurator);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-transitive.xml", configurator));
+    }
+
+    @Test
+    public void testMissingDescriptor(@TempDir final File repositoryDir) throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4).generate();
+        Files.delete(repository.getPom(repository.shared(1, 0)).toPath());
+
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        applyRuleTo(project, repositoryDir, rule -> {
+            rule.setOffline(true);
+            rule.setMissingDescriptorPolicy(MissingDescriptorPolicy.WARN);
+        });
+
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo(project, repositoryDir, rule -> {
+                    rule.setOffline(true);
+                    rule.setMissingDescriptorPolicy(MissingDescriptorPolicy.FAIL);
+                }));
+        assertTrue(e.getMessage().contains("com.example.shared:shared-1-0:1.0.0"));
+    }
+
+    @Test
+    public void testMissingDescriptorWithoutPolicy(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4).generate();
+        Files.delete(repository.getPom(repository.shared(1, 0)).toPath());
+
+        // Descriptor policy of the session is kept, so collection fails as before.
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo(project, repositoryDir, rule -> {
+                }));
+        assertTrue(e.getMessage(), e.getMessage().contains("com.example.shared:shared-1-0"));
+    }
+
+    @Test
+    public void testInvalidDescriptor(@TempDir final File repositoryDir) throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4).generate();
+        Files.write(repository.getPom(repository.shared(1, 0)).toPath(),
+                "<project>".getBytes(StandardCharsets.UTF_8));
+
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class,
+                () -> applyRuleTo(project, repositoryDir, rule -> {
+                    rule.setOffline(true);
+                    rule.setMissingDescriptorPolicy(MissingDescriptorPolicy.FAIL);
+                }));
+        assertTrue(e.getMessage().contains("com.example.shared:shared-1-0:1.0.0"));
+    }
+
+    @Test
+    public void testMissingDescriptorFromSessionCache(@TempDir final File repositoryDir) throws Exception {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4).generate();
+        Files.delete(repository.getPom(repository.shared(1, 0)).toPath());
+
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        final MavenSession session = newMavenSession(project);
+        initTestRepository(session, repositoryDir);
+        final RepositorySystem repositorySystem = lookup(RepositorySystem.class);
+        final ProjectDependenciesResolver dependenciesResolver = lookup(ProjectDependenciesResolver.class);
+
+        // Both modules of one build reuse the same incomplete closure.
+        for (int i = 0; i < 2; ++i) {
+            final NoOverwriteDependencies rule = new NoOverwriteDependencies(project, session, repositorySystem,
+                    dependenciesResolver);
+            rule.setLog(new MockEnforcerLogger(false, false, false, false));
+            rule.setOffline(true);
+            rule.setMissingDescriptorPolicy(MissingDescriptorPolicy.FAIL);
+            final EnforcerRuleException e = assertThrows(EnforcerRuleException.class, rule::execute);
+            assertTrue(e.getMessage().contains("com.example.shared:shared-1-0:1.0.0"));
+        }
+    }
+
+    @Test
+    public void testMissingDescriptorIsNotIncremental(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 2, 2, 4).generate();
+        Files.delete(repository.getPom(repository.shared(1, 0)).toPath());
+
+        final File stateFile = new File(repositoryDir, "rule.state");
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0)));
+        applyRuleTo(project, repositoryDir, rule -> {
+            rule.setOffline(true);
+            rule.setIncremental(true);
+            rule.setIncrementalStateFile(stateFile);
+        });
+        assertFalse(stateFile.exists());
+    }
+
+    @Test
+    public void testDescriptor() throws EnforcerRuleException {
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule
+                .setCollectionMode(CollectionMode.DESCRIPTOR);
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-parent1.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-parent0.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-version-transitive.xml", configurator));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo("wrong-scope-transitive.xml", configurator));
+
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        applyRuleTo("correct-with-deps.xml", rule -> {
+            configurator.accept(rule);
+            executed[0] = rule;
+        });
+        assertEquals(0, executed[0].getMetrics().getCollectCalls());
+        assertEquals(3, executed[0].getMetrics().getClosureSize());
+    }
+
+    @Test
+    public void testDescriptorSyntheticRepository(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 20, 3, 3, 10).generate();
+        final Consumer<NoOverwriteDependencies> configurator = rule -> rule
+                .setCollectionMode(CollectionMode.DESCRIPTOR);
+
+        final MavenProject correct = repository.newProject(Arrays.asList(repository.managed(0)));
+        applyRuleTo(correct, repositoryDir, configurator);
+
+        final org.apache.maven.model.Dependency transitive = repository.shared(3, 0);
+        transitive.setVersion("2.0.0");
+        final MavenProject wrong = repository.newProject(Arrays.asList(repository.managed(0), transitive));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo(wrong, repositoryDir, configurator));
+    }
+
+    @Test
+    public void testSemanticVersionComparison(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 1, 1, 2).generate();
+        final org.apache.maven.model.Dependency shortVersion = repository.managed(0);
+        shortVersion.setVersion("1.0");
+        final MavenProject project = repository.newProject(Arrays.asList(shortVersion));
+
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo(project, repositoryDir, rule -> {
+        }));
+        applyRuleTo(project, repositoryDir, rule -> rule.setVersionComparison(VersionComparison.SEMANTIC));
+    }
+
+    @Test
+    public void testArtifactIsExpandedOnce(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 3, 2, 4).generate();
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(1)));
+        // Shared artifacts are found with runtime scope from first managed artifact and compile from second one.
+        project.getDependencyManagement().getDependencies().get(0).setScope("runtime");
+
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        applyRuleTo(project, repositoryDir, rule -> {
+            rule.setSessionCache(false);
+            rule.setScopeMediation(true);
+            executed[0] = rule;
+        });
+        assertEquals(repository.size(), executed[0].getMetrics().getCollectCalls());
+        assertTrue(executed[0].getMetrics().getClosureSize() > repository.size());
+    }
+
+    @Test
+    public void testVariantsAreExpandedOnce(@TempDir final File repositoryDir)
+            throws EnforcerRuleException, IOException {
+        final SyntheticRepository repository = new SyntheticRepository(repositoryDir, 2, 3, 2, 4).generate();
+        final org.apache.maven.model.Dependency testJar = repository.managed(0);
+        testJar.setType("test-jar");
+        testJar.setScope("test");
+        final org.apache.maven.model.Dependency sources = repository.managed(1);
+        sources.setClassifier("sources");
+
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(1)));
+        project.getDependencyManagement().addDependency(testJar);
+        project.getDependencyManagement().addDependency(sources);
+
+        final NoOverwriteDependencies[] executed = new NoOverwriteDependencies[1];
+        applyRuleTo(project, repositoryDir, rule -> {
+            rule.setSessionCache(false);
+            executed[0] = rule;
+        });
+        assertEquals(repository.size(), executed[0].getMetrics().getCollectCalls());
+
+        // Transitive dependencies of test-jar are projected onto its test scope.
+        final org.apache.maven.model.Dependency transitive = repository.shared(1, 0);
+        transitive.setScope("test");
+        final MavenProject testOnly = repository.newProject(Collections.singletonList(transitive));
+        testOnly.getDependencyManagement().getDependencies().clear();
+        testOnly.getDependencyManagement().addDependency(testJar);
+        applyRuleTo(testOnly, repositoryDir, rule -> rule.setScopeMediation(true));
+    }
+
+    @Test
+    public void testManagedTransitiveOfSharedNode() {
+        final DefaultDependencyNode root = new DefaultDependencyNode((org.eclipse.aether.graph.Dependency) null);
+        final DefaultDependencyNode unmanaged = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new DefaultArtifact("com.example:unmanaged:1"), "compile"));
+        final DefaultDependencyNode managed = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new DefaultArtifact("com.example:managed:1"), "compile"));
+        final DefaultDependencyNode shared = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new DefaultArtifact("com.example:shared:2"), "compile"));
+        shared.setManagedBits(DependencyNode.MANAGED_VERSION);
+        shared.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION, "1");
+        final DefaultDependencyNode leaf = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new DefaultArtifact("com.example:leaf:1"), "runtime"));
+
+        // Collector reuses node of shared dependency, first path to it is not managed.
+        root.setChildren(Arrays.asList(unmanaged, managed));
+        unmanaged.setChildren(Collections.singletonList(shared));
+        managed.setChildren(Collections.singletonList(shared));
+        shared.setChildren(Collections.singletonList(leaf));
+
+        final Collection<RuleDependency> depManDeps = new ArrayList<>();
+        final Map<DependencyNode, Boolean> visited = new IdentityHashMap<>();
+        NoOverwriteDependencies.addManagedTransitive(root, false, Collections.singleton("com.example:managed"),
+                RuleDependency::new, depManDeps, visited);
+        assertEquals(Arrays.asList(
+                dep("com.example", "shared", "1", "compile"),
+                dep("com.example", "leaf", "1", "runtime")), depManDeps);
+        assertEquals(5, visited.size());
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pro.zavodnikov.maven.rule.AbstractRuleTest.dep;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link OverrideMatcher} and {@link ViolationCollector}.
+ */
+public class OverrideMatcherTest {
+
+    private final List<RuleDependency> depManDeps = Arrays.asList(
+            dep("junit", "junit", "4.13.1", "test"),
+            dep("commons-io", "commons-io", "2.18.0", null),
+            dep("org.hamcrest", "hamcrest-core", "1.3", null));
+
+    private final List<RuleDependency> projDeps = Arrays.asList(
+            dep("junit", "junit", "4.13.2", null),
+            dep("org.hamcrest", "hamcrest-core", "1.2", null));
+
+    @Test
+    public void testFindAll() {
+        final List<Violation> violations = new OverrideMatcher(this.depManDeps).find(this.projDeps, 0);
+        assertEquals(3, violations.size());
+        assertEquals(Violation.Kind.VERSION, violations.get(0).getKind());
+        assertEquals(Violation.Kind.SCOPE, violations.get(1).getKind());
+        assertEquals("junit:junit:4.13.1 with scope test override by scope compile", violations.get(1).getMessage());
+        assertEquals("org.hamcrest:hamcrest-core:1.3 override by version 1.2", violations.get(2).toString());
+    }
+
+    @Test
+    public void testFindWithLimit() {
+        final List<Violation> violations = new OverrideMatcher(this.depManDeps).find(this.projDeps, 1);
+        assertEquals(1, violations.size());
+        assertEquals(Violation.Kind.VERSION, violations.get(0).getKind());
+    }
+
+    @Test
+    public void testCollector() {
+        final ViolationCollector collector = new ViolationCollector(this.projDeps, 2);
+        assertFalse(collector.add(this.depManDeps.get(1)));
+        assertTrue(collector.getViolations().isEmpty());
+
+        assertTrue(collector.add(this.depManDeps.get(0)));
+        assertTrue(collector.isFull());
+        assertEquals(2, collector.getViolations().size());
+
+        assertTrue(collector.add(this.depManDeps.get(2)));
+        assertEquals(2, collector.getViolations().size());
+    }
+
+    @Test
+    public void testFilter() {
+        final OverrideMatcher matcher = new OverrideMatcher(this.depManDeps, VersionComparator.STRING,
+                ArtifactKeyFilter.of(this.depManDeps));
+        assertEquals(3, matcher.find(this.projDeps, 0).size());
+        assertTrue(matcher.find(Arrays.asList(dep("org.slf4j", "slf4j-api", "2.0.0", null)), 0).isEmpty());
+    }
+}
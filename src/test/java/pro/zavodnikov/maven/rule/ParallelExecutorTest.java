@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ParallelExecutor}.
+ */
+public class ParallelExecutorTest {
+
+    @Test
+    public void testOrderIsKept() {
+        final List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final List<Integer> expected = new ArrayList<>();
+        for (Integer i : items) {
+            expected.add(i * 2);
+        }
+
+        try (ParallelExecutor executor = new ParallelExecutor(8)) {
+            assertEquals(expected, executor.map(items, i -> {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return i * 2;
+            }));
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        try (ParallelExecutor executor = new ParallelExecutor(4)) {
+            final List<Integer> items = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+            assertThrows(IllegalStateException.class, () -> executor.map(items, i -> {
+                if (i == 5) {
+                    throw new IllegalStateException("Failed");
+                }
+                return i;
+            }));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ParallelExecutor(0));
+    }
+
+    private static Integer sleep(final Integer millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return millis;
+    }
+
+    @Test
+    public void testTimeout() {
+        final long timeout = TimeUnit.MILLISECONDS.toNanos(500);
+        try (ParallelExecutor executor = new ParallelExecutor(1)) {
+            final List<Integer> results = executor.map(Arrays.asList(1, 60_000, 2), ParallelExecutorTest::sleep,
+                    timeout, TimeBudget.UNLIMITED);
+            assertEquals(Arrays.asList(1, null, 2), results);
+        }
+    }
+
+    @Test
+    public void testTimeBudget() {
+        try (ParallelExecutor executor = new ParallelExecutor(2)) {
+            final long start = System.nanoTime();
+            final List<Integer> results = executor.map(Arrays.asList(1, 60_000, 60_000, 2),
+                    ParallelExecutorTest::sleep, 0, TimeBudget.of(500));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+            assertEquals(1, results.get(0));
+            assertNull(results.get(1));
+            assertNull(results.get(2));
+            assertNull(results.get(3)); // Is not started, because both threads are busy.
+        }
+
+        assertTrue(TimeBudget.UNLIMITED.remaining() == Long.MAX_VALUE);
+        assertTrue(TimeBudget.of(0) == TimeBudget.UNLIMITED);
+        assertThrows(IllegalArgumentException.class, () -> TimeBudget.of(-1));
+    }
+
+    @Test
+    public void testTimedParallelismIsBounded() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final long timeout = TimeUnit.MILLISECONDS.toNanos(50);
+        try (ParallelExecutor executor = new ParallelExecutor(2)) {
+            final List<Integer> results = executor.map(Arrays.asList(60_000, 60_000, 60_000, 60_000, 1), i -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return sleep(i);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, timeout, TimeBudget.UNLIMITED);
+            assertEquals(Arrays.asList(null, null, null, null, 1), results);
+        }
+        assertTrue(maxRunning.get() <= 2); // Items that are out of time are cancelled, not left running.
+    }
+
+    @Test
+    public void testTimedFailure() {
+        try (ParallelExecutor executor = new ParallelExecutor(2)) {
+            assertThrows(IllegalStateException.class, () -> executor.map(Arrays.asList(1, 2), i -> {
+                throw new IllegalStateException("Failed");
+            }, 0, TimeBudget.UNLIMITED));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Regression tests for performance of {@link NoOverwriteDependencies} on
+ * large synthetic repositories. Bounds are loose enough for slow machines,
+ * but fail when the rule becomes super-linear again.
+ */
+public class PerformanceRegressionTest extends AbstractRuleTest {
+
+    private static final Duration TIME_LIMIT = Duration.ofSeconds(60);
+
+    private RuleMetrics applyRuleTo(final SyntheticRepository repository, final MavenProject project,
+            final Consumer<NoOverwriteDependencies> configurator) throws EnforcerRuleException {
+        final NoOverwriteDependencies rule = newRule(NoOverwriteDependencies.class, project,
+                repository.getDirectory());
+        rule.setLog(new MockEnforcerLogger(false, false, false, false));
+        configurator.accept(rule);
+
+        rule.execute();
+        return rule.getMetrics();
+    }
+
+    private RuleMetrics applyRuleTo(final SyntheticRepository repository,
+            final Consumer<NoOverwriteDependencies> configurator) throws EnforcerRuleException {
+        return applyRuleTo(repository, repository.newProject(Collections.singletonList(repository.managed(0))),
+                configurator);
+    }
+
+    private static SyntheticRepository generate(final File directory, final int managed, final int fanOut,
+            final int depth, final int width, final boolean bom) throws IOException {
+        return new SyntheticRepository(directory, managed, fanOut, depth, width)
+                .setBom(bom)
+                .generate();
+    }
+
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void testEveryArtifactIsCollectedOnce(@TempDir final File tempDir) throws IOException {
+        final SyntheticRepository repository = generate(new File(tempDir, "repository"), 60, 3, 4, 20, true);
+        assertTimeoutPreemptively(TIME_LIMIT, () -> {
+            final RuleMetrics metrics = applyRuleTo(repository, rule -> {
+            });
+            assertTrue(metrics.getCollectCalls() <= repository.size());
+
+            final RuleMetrics descriptorMetrics = applyRuleTo(repository,
+                    rule -> rule.setCollectionMode(CollectionMode.DESCRIPTOR));
+            assertEquals(0, descriptorMetrics.getCollectCalls());
+            assertEquals(metrics.getClosureSize(), descriptorMetrics.getClosureSize());
+
+            final RuleMetrics batchMetrics = applyRuleTo(repository,
+                    rule -> rule.setCollectionMode(CollectionMode.BATCH));
+            assertEquals(1, batchMetrics.getCollectCalls());
+        });
+    }
+
+    /*
+     * Closure of every artifact of a chain contains the rest of the chain, so
+     * PER_ROOT mode is quadratic by design and the chain is shorter for it.
+     */
+    @Test
+    public void testDeepChain(@TempDir final File tempDir) throws IOException {
+        final SyntheticRepository shortChain = generate(new File(tempDir, "short"), 1, 1, 50, 1, true);
+        final SyntheticRepository longChain = generate(new File(tempDir, "long"), 1, 1, 500, 1, true);
+        assertTimeoutPreemptively(TIME_LIMIT, () -> {
+            final RuleMetrics metrics = applyRuleTo(shortChain, rule -> {
+            });
+            assertTrue(metrics.getCollectCalls() <= shortChain.size());
+            assertEquals(shortChain.size(), metrics.getClosureSize());
+
+            final RuleMetrics descriptorMetrics = applyRuleTo(longChain,
+                    rule -> rule.setCollectionMode(CollectionMode.DESCRIPTOR));
+            assertEquals(0, descriptorMetrics.getCollectCalls());
+            assertEquals(longChain.size(), descriptorMetrics.getClosureSize());
+        });
+    }
+
+    @Test
+    public void testViolationIsFoundWithBom(@TempDir final File tempDir) throws IOException {
+        final SyntheticRepository repository = generate(new File(tempDir, "repository"), 10, 2, 3, 5, true);
+        final Dependency transitive = repository.shared(3, 0);
+        transitive.setVersion("2.0.0");
+        final MavenProject project = repository.newProject(Arrays.asList(repository.managed(0), transitive));
+
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo(repository, project, rule -> {
+        }));
+        assertThrows(EnforcerRuleException.class, () -> applyRuleTo(repository, project,
+                rule -> rule.setCollectionMode(CollectionMode.DESCRIPTOR)));
+    }
+
+    @Test
+    public void testDemandDrivenStopsEarly(@TempDir final File tempDir) throws IOException, EnforcerRuleException {
+        final SyntheticRepository repository = generate(new File(tempDir, "repository"), 100, 3, 5, 30, true);
+        final RuleMetrics metrics = applyRuleTo(repository, rule -> rule.setDemandDriven(true));
+        assertTrue(metrics.getCollectCalls() < repository.size() / 2);
+    }
+
+    /*
+     * Linear rule allocates about twice more for twice larger repository,
+     * quadratic one about four times more. Every POM imports BOM with all
+     * shared artifacts, so BOM is not used here: Maven itself spends time
+     * proportional to its size on every POM.
+     */
+    @Test
+    public void testAllocationsGrowLinearly(@TempDir final File tempDir) throws IOException, EnforcerRuleException {
+        assumeTrue(allocatedBytes() >= 0, "Allocated bytes are not measured by this JVM");
+
+        final SyntheticRepository warmUp = generate(new File(tempDir, "warm-up"), 20, 3, 4, 10, false);
+        final SyntheticRepository small = generate(new File(tempDir, "small"), 50, 3, 4, 25, false);
+        final SyntheticRepository large = generate(new File(tempDir, "large"), 100, 3, 4, 50, false);
+        applyRuleTo(warmUp, rule -> {
+        });
+
+        long start = allocatedBytes();
+        applyRuleTo(small, rule -> {
+        });
+        final long smallBytes = allocatedBytes() - start;
+
+        start = allocatedBytes();
+        applyRuleTo(large, rule -> {
+        });
+        final long largeBytes = allocatedBytes() - start;
+
+        assertTrue("Allocated " + largeBytes + " bytes for large repository and " + smallBytes + " for small one",
+                largeBytes < 3 * smallBytes);
+    }
+}
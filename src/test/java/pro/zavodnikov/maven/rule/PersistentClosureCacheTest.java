@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link PersistentClosureCache}.
+ */
+public class PersistentClosureCacheTest {
+
+    @TempDir
+    File tempDir;
+
+    private File writePom(final File repository, final String content) throws IOException {
+        final File pom = new File(repository, "junit/junit/4.13.1/junit-4.13.1.pom");
+        assertTrue(pom.getParentFile().mkdirs() || pom.getParentFile().isDirectory());
+        Files.write(pom.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return pom;
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        final File repository = new File(this.tempDir, "repository");
+        final File pom = writePom(repository, "<project/>");
+
+        final PersistentClosureCache cache = new PersistentClosureCache(new File(this.tempDir, "cache"), repository);
+        assertNull(cache.get("junit:junit:4.13.1"));
+
+        final List<RuleDependency> closure = Arrays.asList(
+                new RuleDependency("org.hamcrest", "hamcrest-core", null, "jar", "1.3", null),
+                new RuleDependency("org.hamcrest", "hamcrest-library", null, "jar", "1.3", "test"));
+        cache.put("junit:junit:4.13.1", closure, Collections.singleton(pom));
+
+        assertEquals(closure, cache.get("junit:junit:4.13.1"));
+        assertNull(cache.get("junit:junit:4.13.2"));
+    }
+
+    @Test
+    public void testInvalidation() throws IOException {
+        final File repository = new File(this.tempDir, "repository");
+        final File pom = writePom(repository, "<project/>");
+
+        final PersistentClosureCache cache = new PersistentClosureCache(new File(this.tempDir, "cache"), repository);
+        cache.put("junit:junit:4.13.1", Collections.emptyList(), Collections.singleton(pom));
+        assertEquals(Collections.emptyList(), cache.get("junit:junit:4.13.1"));
+
+        writePom(repository, "<project><modelVersion>4.0.0</modelVersion></project>");
+        assertNull(cache.get("junit:junit:4.13.1"));
+    }
+
+    @Test
+    public void testCorruptedEntry() throws IOException {
+        final File repository = new File(this.tempDir, "repository");
+        final File pom = writePom(repository, "<project/>");
+
+        final PersistentClosureCache cache = new PersistentClosureCache(new File(this.tempDir, "cache"), repository);
+        cache.put("junit:junit:4.13.1", Collections.emptyList(), Collections.singleton(pom));
+        for (File file : cache.getDirectory().listFiles()) {
+            Files.write(file.toPath(), "broken".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(cache.get("junit:junit:4.13.1")); // Corrupted entry is a miss, it is overwritten by next put.
+    }
+}
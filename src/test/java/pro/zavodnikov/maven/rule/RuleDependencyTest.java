@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link RuleDependency} and {@link RuleDependencyPool}.
+ */
+public class RuleDependencyTest {
+
+    @Test
+    public void testEquality() {
+        final RuleDependency junit = new RuleDependency("junit", "junit", null, "jar", "4.13.1", null);
+        final RuleDependency same = new RuleDependency("junit", "junit", "", "jar", "4.13.1", "compile");
+        assertEquals(junit, same);
+        assertEquals(junit.hashCode(), same.hashCode());
+        assertEquals("junit:junit::jar:4.13.1:compile", junit.toString());
+        assertEquals("junit:junit", junit.getArtifactKey());
+
+        assertNotEquals(junit, new RuleDependency("junit", "junit", null, "jar", "4.13.1", "test"));
+        assertNotEquals(junit, new RuleDependency("junit", "junit", null, "jar", "4.13.2", null));
+        assertNotEquals(junit, new RuleDependency("junit", "junit", "sources", "jar", "4.13.1", null));
+    }
+
+    @Test
+    public void testWithScope() {
+        final RuleDependency junit = new RuleDependency("junit", "junit", null, "jar", "4.13.1", null);
+        assertSame(junit, junit.withScope("compile"));
+        assertSame(junit, junit.withScope(null));
+
+        final RuleDependency test = junit.withScope("test");
+        assertEquals("junit:junit::jar:4.13.1:test", test.toString());
+        assertEquals(junit.getCoordinatesKey(), test.getCoordinatesKey());
+        assertEquals("junit:junit::jar:4.13.1", test.getCoordinatesKey());
+    }
+
+    @Test
+    public void testToDescriptorRoot() {
+        final RuleDependency junit = new RuleDependency("junit", "junit", null, "jar", "4.13.1", null);
+        assertSame(junit, junit.toDescriptorRoot());
+
+        final RuleDependency testJar = new RuleDependency("junit", "junit", "tests", "test-jar", "4.13.1", "test");
+        assertEquals(junit, testJar.toDescriptorRoot());
+        assertEquals("junit:junit:4.13.1", testJar.getDescriptorKey());
+        assertEquals(junit.getDescriptorKey(), testJar.getDescriptorKey());
+    }
+
+    @Test
+    public void testPool() {
+        final RuleDependencyPool pool = new RuleDependencyPool();
+        final RuleDependency first = new RuleDependency(new String("junit"), "junit", null, "jar", "4.13.1", null);
+        final RuleDependency second = new RuleDependency(new String("junit"), "junit", null, "jar", "4.13.1", null);
+        assertNotSame(first, second);
+
+        final RuleDependency interned = pool.intern(first);
+        assertSame(interned, pool.intern(second));
+
+        final RuleDependency test = pool.intern(new RuleDependency(new String("junit"), "junit", null, "jar",
+                "4.13.1", "test"));
+        assertSame(interned.getGroupId(), test.getGroupId());
+        assertEquals(2, pool.size());
+    }
+}
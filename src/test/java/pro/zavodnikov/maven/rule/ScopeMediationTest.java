@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ScopeMediation}.
+ */
+public class ScopeMediationTest {
+
+    @Test
+    public void testDerive() {
+        assertEquals("compile", ScopeMediation.derive("compile", "compile"));
+        assertEquals("runtime", ScopeMediation.derive("compile", "runtime"));
+        assertEquals("provided", ScopeMediation.derive("provided", "compile"));
+        assertEquals("provided", ScopeMediation.derive("provided", "runtime"));
+        assertEquals("runtime", ScopeMediation.derive("runtime", "compile"));
+        assertEquals("test", ScopeMediation.derive("test", "compile"));
+        assertEquals("test", ScopeMediation.derive("test", "runtime"));
+        assertEquals("system", ScopeMediation.derive("test", "system"));
+        assertEquals("compile", ScopeMediation.derive("", "compile"));
+        assertEquals("runtime", ScopeMediation.derive("custom", "compile")); // Unknown scope of parent.
+    }
+}
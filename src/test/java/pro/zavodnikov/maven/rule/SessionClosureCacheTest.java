@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link SessionClosureCache}.
+ */
+public class SessionClosureCacheTest {
+
+    private static final List<RuleDependency> CLOSURE = Collections.singletonList(
+            new RuleDependency("org.hamcrest", "hamcrest-core", null, "jar", "1.3", null));
+
+    private static final SessionClosureCache.Entry ENTRY = new SessionClosureCache.Entry(CLOSURE,
+            Collections.singleton("org.hamcrest:hamcrest-core:1.3"));
+
+    @Test
+    public void testBoundToSession() {
+        final RepositorySystemSession session = new DefaultRepositorySystemSession();
+        assertSame(SessionClosureCache.of(session), SessionClosureCache.of(session));
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final SessionClosureCache cache = new SessionClosureCache();
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<SessionClosureCache.Entry>> results = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                results.add(executor.submit(() -> cache.get("junit:junit:4.13.1", () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ENTRY;
+                }, TimeBudget.UNLIMITED)));
+            }
+            started.await(10, TimeUnit.SECONDS);
+            release.countDown();
+
+            for (Future<SessionClosureCache.Entry> result : results) {
+                assertSame(ENTRY, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        final SessionClosureCache cache = new SessionClosureCache();
+        assertThrows(IllegalStateException.class, () -> cache.get("junit:junit:4.13.1", () -> {
+            throw new IllegalStateException("Collection failed");
+        }, TimeBudget.UNLIMITED));
+        assertEquals(0, cache.size());
+        assertEquals(CLOSURE, cache.get("junit:junit:4.13.1", () -> ENTRY, TimeBudget.UNLIMITED).getClosure());
+        assertEquals(ENTRY.getMissing(),
+                cache.get("junit:junit:4.13.1", () -> null, TimeBudget.UNLIMITED).getMissing());
+    }
+
+    @Test
+    public void testInterruptedLoaderIsNotShared() {
+        final SessionClosureCache cache = new SessionClosureCache();
+        assertNull(cache.get("junit:junit:4.13.1", () -> {
+            Thread.currentThread().interrupt(); // Loader is cancelled as out of time.
+            return ENTRY;
+        }, TimeBudget.UNLIMITED));
+        assertTrue(Thread.interrupted());
+        assertEquals(0, cache.size());
+        assertSame(ENTRY, cache.get("junit:junit:4.13.1", () -> ENTRY, TimeBudget.UNLIMITED));
+    }
+
+    @Test
+    public void testWaiterIsLimited() throws Exception {
+        final SessionClosureCache cache = new SessionClosureCache();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<SessionClosureCache.Entry> loader = executor.submit(() -> cache.get("junit:junit:4.13.1",
+                    () -> {
+                        started.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ENTRY;
+                    }, TimeBudget.UNLIMITED));
+            started.await(10, TimeUnit.SECONDS);
+
+            // Waiter gives up when its budget is exhausted.
+            assertNull(cache.get("junit:junit:4.13.1", () -> ENTRY, TimeBudget.of(50)));
+
+            // Waiter stops when it is cancelled as out of time.
+            final CountDownLatch waiting = new CountDownLatch(1);
+            final Future<SessionClosureCache.Entry> waiter = executor.submit(() -> {
+                waiting.countDown();
+                return cache.get("junit:junit:4.13.1", () -> ENTRY, TimeBudget.UNLIMITED);
+            });
+            waiting.await(10, TimeUnit.SECONDS);
+            waiter.cancel(true);
+            assertEquals("free", executor.submit(() -> "free").get(10, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertSame(ENTRY, loader.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link StandaloneRuleFactory}.
+ */
+public class StandaloneRuleFactoryTest {
+
+    private static final File RESOURCES = new File("src/test/resources");
+
+    private static final StandaloneRuleFactory FACTORY = new StandaloneRuleFactory(new File(RESOURCES, "repository"));
+
+    private static NoOverwriteDependencies newRule(final String pom) throws ModelBuildingException {
+        final MavenProject project = new BatchScanner(new File(RESOURCES, "repository"))
+                .readProject(new File(RESOURCES, pom));
+        final NoOverwriteDependencies rule = FACTORY.newRule(project,
+                FACTORY.newSession(FACTORY.newRepositorySession(), project));
+        rule.setLog(new MockEnforcerLogger(false, false, false, false));
+        return rule;
+    }
+
+    @Test
+    public void testNewRule() throws ModelBuildingException, EnforcerRuleException {
+        newRule("correct-with-deps.xml").execute();
+        assertThrows(EnforcerRuleException.class, () -> newRule("wrong-version-transitive.xml").execute());
+    }
+
+    @Test
+    public void testSharedSession() throws ModelBuildingException {
+        final RepositorySystemSession repositorySession = FACTORY.newRepositorySession();
+        final MavenProject project = new BatchScanner(new File(RESOURCES, "repository"))
+                .readProject(new File(RESOURCES, "correct-with-deps.xml"));
+        final MavenSession session = FACTORY.newSession(repositorySession, project);
+        assertSame(repositorySession, session.getRepositorySession());
+        assertSame(project, session.getCurrentProject());
+    }
+
+    @Test
+    public void testProjectModeIsNotSupported() throws ModelBuildingException {
+        final NoOverwriteDependencies rule = newRule("correct-with-deps.xml");
+        rule.setCollectionMode(CollectionMode.PROJECT);
+        final EnforcerRuleException e = assertThrows(EnforcerRuleException.class, rule::execute);
+        assertTrue(e.getMessage().contains("PROJECT collection mode"));
+    }
+}
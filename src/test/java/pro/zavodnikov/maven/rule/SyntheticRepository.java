@@ -0,0 +1,270 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generator of local repositories with many artifacts. Useful for benchmarks
+ * and performance testing.
+ * <p>
+ * Every managed artifact depends on <code>fanOut</code> shared artifacts of
+ * the first level, every shared artifact of level <code>N</code> depends on
+ * <code>fanOut</code> shared artifacts of level <code>N + 1</code> up to
+ * <code>depth</code>. Each level has <code>width</code> shared artifacts, so
+ * sub-graphs are shared between managed artifacts and form diamonds. Width
+ * <code>1</code> gives deep chains.
+ * <p>
+ * With BOM every artifact inherits parent POM that imports BOM with versions
+ * of all shared artifacts, so dependencies are declared without versions.
+ */
+public class SyntheticRepository {
+
+    public static final String MANAGED_GROUP_ID = "com.example.managed";
+
+    public static final String SHARED_GROUP_ID = "com.example.shared";
+
+    public static final String VERSION = "1.0.0";
+
+    public static final String BOM_GROUP_ID = "com.example";
+
+    public static final String BOM_ARTIFACT_ID = "synthetic-bom";
+
+    public static final String PARENT_ARTIFACT_ID = "synthetic-parent";
+
+    private final File directory;
+
+    private final int managed;
+
+    private final int fanOut;
+
+    private final int depth;
+
+    private final int width;
+
+    private boolean bom = false;
+
+    /**
+     * @param directory where repository will be generated.
+     * @param managed   number of managed artifacts.
+     * @param fanOut    number of dependencies of every artifact.
+     * @param depth     number of levels of shared artifacts.
+     * @param width     number of shared artifacts on every level.
+     */
+    public SyntheticRepository(final File directory, final int managed, final int fanOut, final int depth,
+            final int width) {
+        this.directory = Check.notNull(directory, "Directory should not be null");
+        this.managed = managed;
+        this.fanOut = Math.min(fanOut, width);
+        this.depth = depth;
+        this.width = width;
+    }
+
+    /**
+     * @param bom declare versions of shared artifacts in BOM that is imported
+     *            by common parent POM.
+     */
+    public SyntheticRepository setBom(final boolean bom) {
+        this.bom = bom;
+        return this;
+    }
+
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * @return number of artifacts in repository.
+     */
+    public int size() {
+        return this.managed + this.depth * this.width;
+    }
+
+    public static Dependency dependency(final String groupId, final String artifactId, final String version,
+            final String scope) {
+        final Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setScope(scope);
+        return dependency;
+    }
+
+    public Dependency managed(final int index) {
+        return dependency(MANAGED_GROUP_ID, "managed-" + index, VERSION, null);
+    }
+
+    public Dependency shared(final int level, final int index) {
+        return dependency(SHARED_GROUP_ID, "shared-" + level + "-" + index, VERSION, null);
+    }
+
+    private List<Dependency> dependenciesOf(final int level, final int index) {
+        final List<Dependency> deps = new ArrayList<>();
+        if (level < this.depth) {
+            for (int i = 0; i < this.fanOut; ++i) {
+                deps.add(shared(level + 1, (index + i) % this.width));
+            }
+        }
+        return deps;
+    }
+
+    /**
+     * @return POM file of the artifact in repository.
+     */
+    public File getPom(final Dependency artifact) {
+        final String path = artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/"
+                + artifact.getVersion() + "/" + artifact.getArtifactId() + "-" + artifact.getVersion() + ".pom";
+        return new File(this.directory, path);
+    }
+
+    private static void writeDependencies(final Writer out, final String indent, final List<Dependency> deps,
+            final boolean withVersions) throws IOException {
+        out.write(indent + "<dependencies>\n");
+        for (Dependency d : deps) {
+            out.write(indent + "    <dependency>\n");
+            out.write(indent + "        <groupId>" + d.getGroupId() + "</groupId>\n");
+            out.write(indent + "        <artifactId>" + d.getArtifactId() + "</artifactId>\n");
+            if (withVersions) {
+                out.write(indent + "        <version>" + d.getVersion() + "</version>\n");
+            }
+            if (!"jar".equals(d.getType())) {
+                out.write(indent + "        <type>" + d.getType() + "</type>\n");
+            }
+            if (d.getScope() != null) {
+                out.write(indent + "        <scope>" + d.getScope() + "</scope>\n");
+            }
+            out.write(indent + "    </dependency>\n");
+        }
+        out.write(indent + "</dependencies>\n");
+    }
+
+    private void writePom(final Dependency artifact, final Dependency parent, final List<Dependency> managedDeps,
+            final List<Dependency> deps) throws IOException {
+        final File pom = getPom(artifact);
+        Files.createDirectories(pom.getParentFile().toPath());
+
+        try (Writer out = Files.newBufferedWriter(pom.toPath(), StandardCharsets.UTF_8)) {
+            out.write("<project>\n");
+            out.write("    <modelVersion>4.0.0</modelVersion>\n");
+            if (parent != null) {
+                out.write("    <parent>\n");
+                out.write("        <groupId>" + parent.getGroupId() + "</groupId>\n");
+                out.write("        <artifactId>" + parent.getArtifactId() + "</artifactId>\n");
+                out.write("        <version>" + parent.getVersion() + "</version>\n");
+                out.write("    </parent>\n");
+            }
+            out.write("    <groupId>" + artifact.getGroupId() + "</groupId>\n");
+            out.write("    <artifactId>" + artifact.getArtifactId() + "</artifactId>\n");
+            out.write("    <version>" + artifact.getVersion() + "</version>\n");
+            if ("pom".equals(artifact.getType())) {
+                out.write("    <packaging>pom</packaging>\n");
+            }
+            if (!managedDeps.isEmpty()) {
+                out.write("    <dependencyManagement>\n");
+                writeDependencies(out, "        ", managedDeps, true);
+                out.write("    </dependencyManagement>\n");
+            }
+            writeDependencies(out, "    ", deps, parent == null);
+            out.write("</project>\n");
+        }
+    }
+
+    private static Dependency pom(final String artifactId, final String scope) {
+        final Dependency pom = dependency(BOM_GROUP_ID, artifactId, VERSION, scope);
+        pom.setType("pom");
+        return pom;
+    }
+
+    private void writeBom() throws IOException {
+        final List<Dependency> sharedDeps = new ArrayList<>();
+        for (int level = 1; level <= this.depth; ++level) {
+            for (int i = 0; i < this.width; ++i) {
+                sharedDeps.add(shared(level, i));
+            }
+        }
+        writePom(pom(BOM_ARTIFACT_ID, null), null, sharedDeps, Collections.emptyList());
+        writePom(pom(PARENT_ARTIFACT_ID, null), null,
+                Collections.singletonList(pom(BOM_ARTIFACT_ID, "import")), Collections.emptyList());
+    }
+
+    /**
+     * Write POM files of all artifacts.
+     */
+    public SyntheticRepository generate() throws IOException {
+        final Dependency parent = this.bom ? pom(PARENT_ARTIFACT_ID, null) : null;
+        if (this.bom) {
+            writeBom();
+        }
+        for (int i = 0; i < this.managed; ++i) {
+            writePom(managed(i), parent, Collections.emptyList(), dependenciesOf(0, i));
+        }
+        for (int level = 1; level <= this.depth; ++level) {
+            for (int i = 0; i < this.width; ++i) {
+                writePom(shared(level, i), parent, Collections.emptyList(), dependenciesOf(level, i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return list of all managed artifacts.
+     */
+    public List<Dependency> getManagedDependencies() {
+        final List<Dependency> deps = new ArrayList<>(this.managed);
+        for (int i = 0; i < this.managed; ++i) {
+            deps.add(managed(i));
+        }
+        return deps;
+    }
+
+    /**
+     * @return project that manages all managed artifacts and have provided
+     *         dependencies.
+     */
+    public MavenProject newProject(final List<Dependency> dependencies) {
+        final DependencyManagement depMan = new DependencyManagement();
+        depMan.setDependencies(getManagedDependencies());
+
+        final Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("com.example");
+        model.setArtifactId("program");
+        model.setVersion(VERSION);
+        model.setDependencyManagement(depMan);
+        model.setDependencies(new ArrayList<>(dependencies));
+        return new MavenProject(model);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link VersionComparator} and {@link VersionCache}.
+ */
+public class VersionComparatorTest {
+
+    @Test
+    public void testString() {
+        assertTrue(VersionComparator.STRING.isSame("1.0.0", "1.0.0"));
+        assertFalse(VersionComparator.STRING.isSame("1.0", "1.0.0"));
+        assertFalse(VersionComparator.STRING.isSame("1.5.0", "[1.0.0,2.0.0)"));
+    }
+
+    @Test
+    public void testSemantic() {
+        final VersionCache cache = new VersionCache();
+        final VersionComparator comparator = new VersionComparator(VersionComparison.SEMANTIC, cache);
+        assertTrue(comparator.isSame("1.0", "1.0.0"));
+        assertTrue(comparator.isSame("1.0-final", "1"));
+        assertFalse(comparator.isSame("1.0.1", "1.0.0"));
+        assertFalse(comparator.isSame("1.5.0", "[1.0.0,2.0.0)"));
+    }
+
+    @Test
+    public void testRange() {
+        final VersionCache cache = new VersionCache();
+        final VersionComparator comparator = new VersionComparator(VersionComparison.RANGE, cache);
+        assertTrue(comparator.isSame("1.5.0", "[1.0.0,2.0.0)"));
+        assertTrue(comparator.isSame("1.0.0", "[1.0.0,2.0.0)"));
+        assertFalse(comparator.isSame("2.0.0", "[1.0.0,2.0.0)"));
+        assertTrue(comparator.isSame("1.0", "1.0.0"));
+        assertFalse(comparator.isSame("1.1", "1.0.0"));
+
+        final int size = cache.size();
+        assertTrue(comparator.isSame("1.5.0", "[1.0.0,2.0.0)"));
+        assertEquals(size, cache.size());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2026 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.maven.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test for events of Java Flight Recorder, compiled only by JDK 11 or later.
+ */
+public class JfrRuleEventsTest extends AbstractRuleTest {
+
+    private static List<RecordedEvent> getEvents(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(RuleEvents.PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Run the rule with enabled events and read what was recorded.
+     */
+    private List<RecordedEvent> record(final String projectPomName) throws IOException, EnforcerRuleException {
+        final Path recordingFile = Files.createTempFile("rule", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(RuleEvents.PREFIX + "Collect");
+                recording.enable(RuleEvents.PREFIX + "Collection");
+                recording.enable(RuleEvents.PREFIX + "Matching");
+                recording.start();
+
+                final NoOverwriteDependencies rule = newRule(NoOverwriteDependencies.class,
+                        readMavenProject(projectPomName), new File("src/test/resources/repository"));
+                rule.setLog(new MockEnforcerLogger(false, false, false, false));
+                rule.setSessionCache(false);
+                rule.execute();
+
+                recording.stop();
+                recording.dump(recordingFile);
+            }
+            return RecordingFile.readAllEvents(recordingFile);
+        } finally {
+            Files.delete(recordingFile);
+        }
+    }
+
+    @Test
+    public void testRecording() throws IOException, EnforcerRuleException {
+        assertTrue(RuleEvents.isRecorded());
+
+        final List<RecordedEvent> events = record("correct-with-deps.xml");
+        final List<RecordedEvent> collectEvents = getEvents(events, "Collect");
+        assertEquals(3, collectEvents.size()); // commons-io, junit and hamcrest-core.
+        assertTrue(collectEvents.stream().anyMatch(e -> "junit:junit::jar:4.13.1:compile".equals(e.getString("root"))
+                && e.getLong("nodes") == 1));
+
+        final List<RecordedEvent> collectionEvents = getEvents(events, "Collection");
+        assertEquals(1, collectionEvents.size());
+        assertEquals("PER_ROOT", collectionEvents.get(0).getString("mode"));
+        assertEquals(3, collectionEvents.get(0).getLong("closureSize"));
+
+        final List<RecordedEvent> matchingEvents = getEvents(events, "Matching");
+        assertEquals(1, matchingEvents.size());
+        assertEquals(0, matchingEvents.get(0).getLong("violations"));
+    }
+}